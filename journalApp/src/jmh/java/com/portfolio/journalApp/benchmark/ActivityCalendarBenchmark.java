@@ -0,0 +1,71 @@
+package com.portfolio.journalApp.benchmark;
+
+import com.portfolio.journalApp.utils.ActivityCalendar;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streak and heatmap queries over the per-year activity bitmaps of one user (48 bytes per year
+ * stored), including building the calendar from the loaded words, as each request does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActivityCalendarBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int years;
+
+    private Map<Integer, long[]> words;
+    private ActivityCalendar calendar;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        today = LocalDate.of(2025, 6, 1);
+        words = new HashMap<>();
+        for (LocalDate day = today.minusYears(years).plusDays(1); !day.isAfter(today); day = day.plusDays(1)) {
+            // active on roughly two days out of three
+            if (random.nextInt(3) > 0) {
+                words.computeIfAbsent(day.getYear(), year -> new long[ActivityCalendar.WORDS_PER_YEAR])
+                        [ActivityCalendar.wordIndex(day)] |= ActivityCalendar.bitMask(day);
+            }
+        }
+        calendar = ActivityCalendar.of(words);
+    }
+
+    @Benchmark
+    public ActivityCalendar load() {
+        return ActivityCalendar.of(words);
+    }
+
+    @Benchmark
+    public int longestStreak() {
+        return calendar.longestStreak();
+    }
+
+    @Benchmark
+    public int currentStreak() {
+        return calendar.currentStreak(today);
+    }
+
+    @Benchmark
+    public int activeDaysLastYear() {
+        return calendar.countActiveDays(today.minusYears(1), today);
+    }
+
+    @Benchmark
+    public List<LocalDate> heatmapOfThisYear() {
+        return calendar.activeDaysOf(today.getYear());
+    }
+}
@@ -0,0 +1,120 @@
+package com.portfolio.journalApp.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.journalApp.dto.UserJournalEntryDTO;
+import com.portfolio.journalApp.repository.JournalRepositoryCustomImpl;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Java side of GET /admin/journal-entry/all for one page of users: mapping each user's entry
+ * documents, as their cursor returns them, to DTOs and writing them out the way AdminController does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdminEntriesBenchmark {
+
+    private static final int USERS_PER_PAGE = 50;
+
+    @Param({"10", "100"})
+    private int entriesPerUser;
+
+    private MappingMongoConverter converter;
+    private ObjectMapper objectMapper;
+    private Map<ObjectId, String> usernames;
+    private Map<ObjectId, List<Document>> entriesByOwner;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        usernames = new LinkedHashMap<>();
+        entriesByOwner = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+        for (int user = 0; user < USERS_PER_PAGE; user++) {
+            ObjectId ownerId = new ObjectId();
+            usernames.put(ownerId, "user" + user);
+            List<Document> entries = new ArrayList<>();
+            for (int entry = 0; entry < entriesPerUser; entry++) {
+                entries.add(new Document("title", "Entry " + entry)
+                        .append("content", "Notes about the day, ".repeat(20))
+                        .append("createdDate", Date.from(now.minusHours(entry).toInstant(ZoneOffset.UTC))));
+            }
+            entriesByOwner.put(ownerId, entries);
+        }
+    }
+
+    @Benchmark
+    public void mapGroups(Blackhole blackhole) {
+        for (Map.Entry<ObjectId, List<Document>> owner : entriesByOwner.entrySet()) {
+            blackhole.consume(JournalRepositoryCustomImpl.toUserJournalEntries(
+                    usernames.get(owner.getKey()), owner.getValue(), converter));
+        }
+    }
+
+    @Benchmark
+    public void mapAndWriteGroups(Blackhole blackhole) throws IOException {
+        try (JsonGenerator json = objectMapper.createGenerator(new DiscardingOutputStream(blackhole))) {
+            json.writeStartObject();
+            json.writeBooleanField("success", true);
+            json.writeStringField("message", "Data fetched successfully");
+            json.writeArrayFieldStart("data");
+            for (Map.Entry<ObjectId, List<Document>> owner : entriesByOwner.entrySet()) {
+                UserJournalEntryDTO dto = JournalRepositoryCustomImpl.toUserJournalEntries(
+                        usernames.get(owner.getKey()), owner.getValue(), converter);
+                objectMapper.writeValue(json, dto);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static class DiscardingOutputStream extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        DiscardingOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+        }
+    }
+}
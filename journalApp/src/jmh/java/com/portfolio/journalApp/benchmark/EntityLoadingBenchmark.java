@@ -0,0 +1,87 @@
+package com.portfolio.journalApp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.repository.MappedJournal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point lookups of one entry and of its owner, mapped by Spring Data from stored documents and then
+ * written as JSON the way a controller would. The {@code eager*} methods are the baseline: the same
+ * documents read with both references eager, as the entities were first mapped. The number of
+ * documents a lookup pulled in, the entity itself included, is reported as the documentsRead
+ * secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityLoadingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int journalSize;
+
+    private MappedJournal journal;
+    private ObjectMapper objectMapper;
+    private String entryId;
+
+    @Setup
+    public void setUp() {
+        journal = new MappedJournal(journalSize);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        entryId = journal.getEntryIds().get(journalSize / 2);
+    }
+
+    /**
+     * Documents read by the last lookup. Every lookup of a benchmark reads the same number, so the
+     * value at the end of an iteration is the per-lookup count (summed over threads, of which there is one).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Reads {
+        public long documentsRead;
+    }
+
+    @Benchmark
+    public String entryById(Reads reads) throws JsonProcessingException {
+        journal.resetDocumentsRead();
+        JournalEntry entry = journal.findEntry(entryId);
+        String json = objectMapper.writeValueAsString(entry);
+        reads.documentsRead = journal.getDocumentsRead();
+        return json;
+    }
+
+    @Benchmark
+    public String userById(Reads reads) throws JsonProcessingException {
+        journal.resetDocumentsRead();
+        User user = journal.findUser();
+        String json = objectMapper.writeValueAsString(user);
+        reads.documentsRead = journal.getDocumentsRead();
+        return json;
+    }
+
+    @Benchmark
+    public String eagerEntryById(Reads reads) throws JsonProcessingException {
+        journal.resetDocumentsRead();
+        MappedJournal.EagerJournalEntry entry = journal.findEntryEagerly(entryId);
+        String json = objectMapper.writeValueAsString(entry);
+        reads.documentsRead = journal.getDocumentsRead();
+        return json;
+    }
+
+    @Benchmark
+    public String eagerUserById(Reads reads) throws JsonProcessingException {
+        journal.resetDocumentsRead();
+        MappedJournal.EagerUser user = journal.findUserEagerly();
+        String json = objectMapper.writeValueAsString(user);
+        reads.documentsRead = journal.getDocumentsRead();
+        return json;
+    }
+}
@@ -0,0 +1,78 @@
+package com.portfolio.journalApp.benchmark;
+
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.repository.JournalRepository;
+import com.portfolio.journalApp.service.JournalServiceOld;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The first page of a journal search against a mongod started by {@link MongoJournal} (needs
+ * Docker): {@link JournalRepository#searchByOwner} served by the {@code owner_text} index, compared
+ * with the old search, a case-insensitive substring match over every entry loaded through the
+ * user's DBRef list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final Comparator<JournalEntry> NEWEST_FIRST = Comparator.comparing(JournalEntry::getCreatedDate).reversed();
+
+    @Param({"100", "1000", "10000"})
+    private int journalSize;
+
+    // words in nearly every generated entry, and a word in none of them
+    @Param({"gratitude garden", "holiday"})
+    private String query;
+
+    private MongoJournal mongo;
+    private JournalRepository repository;
+    private JournalServiceOld oldService;
+    private ObjectId ownerId;
+
+    @Setup
+    public void setUp() {
+        SyntheticJournal journal = SyntheticJournal.generate(journalSize, LocalDateTime.of(2025, 6, 1, 12, 0));
+        mongo = MongoJournal.start(journal);
+        if (!mongo.indexNames(JournalEntry.class).contains("owner_text")) {
+            throw new IllegalStateException("owner_text index was not created");
+        }
+        repository = mongo.journalRepository();
+        oldService = new JournalServiceOld(mongo.journalRepository(), mongo.userRepository());
+        ownerId = new ObjectId(journal.getEntries().get(0).getUser().getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public Page<JournalEntry> searchFirstPage() {
+        return repository.searchByOwner(ownerId, query, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<JournalEntry> oldSearchFirstPage() {
+        String lowerCaseQuery = query.toLowerCase();
+        List<JournalEntry> matches = oldService.getAllEntries(SyntheticJournal.USERNAME).stream()
+                .filter(entry -> (entry.getTitle() != null && entry.getTitle().toLowerCase().contains(lowerCaseQuery))
+                        || (entry.getContent() != null && entry.getContent().toLowerCase().contains(lowerCaseQuery)))
+                .sorted(NEWEST_FIRST)
+                .toList();
+        return new PageImpl<>(matches.subList(0, Math.min(PAGE_SIZE, matches.size())), PageRequest.of(0, PAGE_SIZE), matches.size());
+    }
+}
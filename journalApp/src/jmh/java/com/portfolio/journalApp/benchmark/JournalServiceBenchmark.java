@@ -0,0 +1,116 @@
+package com.portfolio.journalApp.benchmark;
+
+import com.portfolio.journalApp.dto.CursorPageDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.service.JournalService;
+import com.portfolio.journalApp.service.JournalServiceOld;
+import com.portfolio.journalApp.utils.JournalCursor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of JournalService over generated journals of different sizes: sorting the whole
+ * journal, offset and cursor pagination and a date range, against a mongod started by
+ * {@link MongoJournal} (needs Docker); the text search has {@link JournalSearchBenchmark}. The {@code old*} methods are the baseline: the user loaded
+ * through {@link JournalServiceOld} with its DBRef list of entries resolved, then sorted, paged and
+ * filtered in memory, the way these reads worked before they were queried by owner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final Comparator<JournalEntry> NEWEST_FIRST = Comparator.comparing(JournalEntry::getCreatedDate).reversed();
+
+    @Param({"100", "1000", "10000"})
+    private int journalSize;
+
+    private MongoJournal mongo;
+    private JournalService service;
+    private JournalServiceOld oldService;
+    private int middlePage;
+    private String middleCursor;
+    private LocalDateTime lastMonth;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        now = LocalDateTime.of(2025, 6, 1, 12, 0);
+        lastMonth = now.minusDays(30);
+        SyntheticJournal journal = SyntheticJournal.generate(journalSize, now);
+        mongo = MongoJournal.start(journal);
+        // the statistics service is only involved in writes
+        service = new JournalService(mongo.journalRepository(), mongo.userRepository(), null, mongo.contentStore());
+        oldService = new JournalServiceOld(mongo.journalRepository(), mongo.userRepository());
+
+        middlePage = journalSize / PAGE_SIZE / 2;
+        JournalEntry middle = journal.getEntries().get(journalSize / 2);
+        middleCursor = JournalCursor.after(middle, Sort.Direction.DESC).encode();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public List<JournalEntry> allEntriesNewestFirst() {
+        return service.getAllEntries(SyntheticJournal.USERNAME, "desc");
+    }
+
+    @Benchmark
+    public Page<JournalEntry> offsetPageInTheMiddle() {
+        return service.getPaginatedEntries(SyntheticJournal.USERNAME, middlePage, PAGE_SIZE, "desc");
+    }
+
+    @Benchmark
+    public CursorPageDTO<JournalEntry> cursorPageInTheMiddle() {
+        return service.getEntriesByCursor(SyntheticJournal.USERNAME, middleCursor, PAGE_SIZE, "desc", false);
+    }
+
+    @Benchmark
+    public List<JournalEntry> lastThirtyDays() {
+        return service.getEntriesByDateRange(SyntheticJournal.USERNAME, lastMonth, now);
+    }
+
+    @Benchmark
+    public List<JournalEntry> oldAllEntriesNewestFirst() {
+        return oldEntriesNewestFirst();
+    }
+
+    @Benchmark
+    public Page<JournalEntry> oldOffsetPageInTheMiddle() {
+        List<JournalEntry> entries = oldEntriesNewestFirst();
+        int start = Math.min(middlePage * PAGE_SIZE, entries.size());
+        int end = Math.min(start + PAGE_SIZE, entries.size());
+        return new PageImpl<>(entries.subList(start, end), PageRequest.of(middlePage, PAGE_SIZE), entries.size());
+    }
+
+    @Benchmark
+    public List<JournalEntry> oldLastThirtyDays() {
+        return oldService.getAllEntries(SyntheticJournal.USERNAME).stream()
+                .filter(entry -> entry.getCreatedDate() != null
+                        && !entry.getCreatedDate().isBefore(lastMonth) && !entry.getCreatedDate().isAfter(now))
+                .sorted(NEWEST_FIRST)
+                .toList();
+    }
+
+    private List<JournalEntry> oldEntriesNewestFirst() {
+        List<JournalEntry> entries = new ArrayList<>(oldService.getAllEntries(SyntheticJournal.USERNAME));
+        entries.sort(NEWEST_FIRST);
+        return entries;
+    }
+}
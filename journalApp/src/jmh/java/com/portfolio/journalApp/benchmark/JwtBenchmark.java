@@ -0,0 +1,59 @@
+package com.portfolio.journalApp.benchmark;
+
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.utils.JWTUtil;
+import io.jsonwebtoken.Claims;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuing and verifying tokens, with and without self-contained claims and the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({"false", "true"})
+    private boolean selfContained;
+
+    @Param({"false", "true"})
+    private boolean verifiedCache;
+
+    private JWTUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JWTUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKey1234567890123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 3600000);
+        ReflectionTestUtils.setField(jwtUtil, "selfContained", selfContained);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheEnabled", verifiedCache);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 10000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        user = new User(new ObjectId().toHexString(), "benchmark-user", "password",
+                List.of("USER", "ADMIN"), new ArrayList<>());
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims verifyToken() {
+        return jwtUtil.parseClaims(token);
+    }
+}
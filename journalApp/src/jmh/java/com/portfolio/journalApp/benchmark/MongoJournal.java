@@ -0,0 +1,99 @@
+package com.portfolio.journalApp.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.repository.GridFsJournalContentStore;
+import com.portfolio.journalApp.repository.JournalContentStore;
+import com.portfolio.journalApp.repository.JournalRepository;
+import com.portfolio.journalApp.repository.JournalRepositoryCustomImpl;
+import com.portfolio.journalApp.repository.UserRepository;
+import com.portfolio.journalApp.repository.UserRepositoryCustomImpl;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.util.List;
+
+/**
+ * A {@link SyntheticJournal} stored in a real mongod started with Testcontainers, so it needs a
+ * Docker daemon. The repositories are the application's own, with the entities' indexes created the
+ * way auto-index-creation does, so benchmarks include the round trips, index use and DBRef fetches.
+ */
+public class MongoJournal implements AutoCloseable {
+
+    private final MongoDBContainer container;
+    private final MongoClient client;
+    private final MongoTemplate mongoTemplate;
+    private final JournalRepository journalRepository;
+    private final UserRepository userRepository;
+    private final JournalContentStore contentStore;
+
+    private MongoJournal(MongoDBContainer container, SyntheticJournal journal) {
+        this.container = container;
+        this.client = MongoClients.create(container.getReplicaSetUrl());
+        MongoDatabaseFactory databaseFactory = new SimpleMongoClientDatabaseFactory(client, "journaldb");
+        this.mongoTemplate = new MongoTemplate(databaseFactory);
+        createIndexes(mongoTemplate, User.class, JournalEntry.class);
+
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+        journalRepository = factory.getRepository(JournalRepository.class,
+                RepositoryFragments.just(new JournalRepositoryCustomImpl(mongoTemplate)));
+        userRepository = factory.getRepository(UserRepository.class,
+                RepositoryFragments.just(new UserRepositoryCustomImpl(mongoTemplate)));
+        contentStore = new GridFsJournalContentStore(new GridFsTemplate(databaseFactory, mongoTemplate.getConverter()),
+                databaseFactory, "fs");
+
+        // the owner is stored with its DBRef list to every entry, which the old read path resolves
+        mongoTemplate.insert(journal.getEntries().get(0).getUser());
+        mongoTemplate.insertAll(journal.getEntries());
+    }
+
+    /**
+     * Starts a mongod and stores {@code journal} in it. Fails when no Docker daemon can be reached.
+     */
+    public static MongoJournal start(SyntheticJournal journal) {
+        MongoDBContainer container = new MongoDBContainer("mongo:7.0");
+        container.start();
+        return new MongoJournal(container, journal);
+    }
+
+    private static void createIndexes(MongoTemplate mongoTemplate, Class<?>... types) {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(
+                mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : List.of(types)) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(indexOps::createIndex);
+        }
+    }
+
+    public List<String> indexNames(Class<?> type) {
+        return mongoTemplate.indexOps(type).getIndexInfo().stream().map(IndexInfo::getName).toList();
+    }
+
+    public UserRepository userRepository() {
+        return userRepository;
+    }
+
+    public JournalRepository journalRepository() {
+        return journalRepository;
+    }
+
+    public JournalContentStore contentStore() {
+        return contentStore;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        container.stop();
+    }
+}
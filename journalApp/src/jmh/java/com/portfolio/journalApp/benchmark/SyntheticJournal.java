@@ -0,0 +1,95 @@
+package com.portfolio.journalApp.benchmark;
+
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.repository.JournalContentStore;
+import com.portfolio.journalApp.repository.JournalRepository;
+import com.portfolio.journalApp.repository.UserRepository;
+import com.portfolio.journalApp.repository.inmemory.InMemoryJournalContentStore;
+import com.portfolio.journalApp.repository.inmemory.InMemoryJournalRepository;
+import com.portfolio.journalApp.repository.inmemory.InMemoryUserRepository;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One user's generated journal, held by the in-memory repositories of the "in-memory" profile. They
+ * page and filter like the MongoDB queries do, so benchmarks cover the service together with that
+ * work but without any database round trip.
+ */
+public class SyntheticJournal {
+
+    public static final String USERNAME = "benchmark-user";
+
+    private static final String[] WORDS = {
+            "morning", "gratitude", "coffee", "walk", "meeting", "family", "project", "sleep", "reading",
+            "rain", "dinner", "travel", "goal", "weekend", "music", "garden", "friend", "exercise"
+    };
+
+    private final List<JournalEntry> entries;
+    private final InMemoryJournalRepository journalRepository = new InMemoryJournalRepository();
+    private final InMemoryUserRepository userRepository = new InMemoryUserRepository(journalRepository);
+    private final InMemoryJournalContentStore contentStore = new InMemoryJournalContentStore();
+
+    private SyntheticJournal(User owner, List<JournalEntry> entries) {
+        this.entries = entries;
+        userRepository.save(owner);
+        journalRepository.saveAll(entries);
+    }
+
+    /**
+     * Entries spread over the days before {@code now}, a few per day, with titles and content built
+     * from a small vocabulary. The same size always produces the same journal.
+     */
+    public static SyntheticJournal generate(int size, LocalDateTime now) {
+        Random random = new Random(42);
+        User owner = new User(new ObjectId().toHexString(), USERNAME, "password", List.of("USER"), new ArrayList<>());
+        List<JournalEntry> entries = new ArrayList<>(size);
+        LocalDateTime createdDate = now;
+        for (int i = 0; i < size; i++) {
+            createdDate = createdDate.minusMinutes(60 + random.nextInt(12 * 60));
+            JournalEntry entry = new JournalEntry();
+            entry.setId(new ObjectId(Date.from(createdDate.toInstant(ZoneOffset.UTC)), i).toHexString());
+            entry.setTitle(words(random, 3));
+            entry.setContent(words(random, 40 + random.nextInt(160)));
+            entry.setCreatedDate(createdDate);
+            entry.setUser(owner);
+            entries.add(entry);
+        }
+        // the owner keeps references to all entries, as users did before entries were queried by owner
+        owner.getEntries().addAll(entries);
+        return new SyntheticJournal(owner, entries);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    public List<JournalEntry> getEntries() {
+        return entries;
+    }
+
+    public UserRepository userRepository() {
+        return userRepository;
+    }
+
+    public JournalRepository journalRepository() {
+        return journalRepository;
+    }
+
+    public JournalContentStore contentStore() {
+        return contentStore;
+    }
+}
@@ -0,0 +1,41 @@
+package com.portfolio.journalApp.benchmark;
+
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.security.CustomUserDetails;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// roles to authorities, done for every authenticated request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    @Param({"1", "3"})
+    private int roleCount;
+
+    private CustomUserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        List<String> roles = new ArrayList<>(List.of("USER", "ADMIN", "MODERATOR").subList(0, roleCount));
+        User user = new User(new ObjectId().toHexString(), "benchmark-user", "password",
+                Collections.unmodifiableList(roles), new ArrayList<>());
+        userDetails = new CustomUserDetails(user);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> authorities() {
+        return userDetails.getAuthorities();
+    }
+}
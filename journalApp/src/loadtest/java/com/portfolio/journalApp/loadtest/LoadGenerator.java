@@ -0,0 +1,359 @@
+package com.portfolio.journalApp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load generator for a running app: each virtual user signs up, writes a few entries and then
+ * loops over a weighted mix of login, create, paginate and search requests for the given duration, sending
+ * the next request as soon as the previous one returned. Reports throughput and latency percentiles per
+ * operation on the console and as JSON. Typically pointed at the "in-memory" profile:
+ *
+ * <pre>
+ * SPRING_PROFILES_ACTIVE=in-memory java -jar target/journalApp-0.0.1-SNAPSHOT.jar
+ * ./mvnw -Pload-test test-compile exec:java -Dload.args="--users=50 --duration=60 --mix=login:5,create:20,paginate:50,search:25"
+ * </pre>
+ *
+ * Options: --base-url, --users, --warmup and --duration (seconds), --mix, --seed-entries (per user),
+ * --think-time (ms between requests of one user), --output (JSON file).
+ */
+public class LoadGenerator {
+
+    enum Operation { LOGIN, CREATE, PAGINATE, SEARCH }
+
+    private static final String PASSWORD = "load-test-password";
+
+    private static final String[] WORDS = {
+            "morning", "gratitude", "coffee", "walk", "meeting", "family", "project", "sleep", "reading",
+            "rain", "dinner", "travel", "goal", "weekend", "music", "garden", "friend", "exercise"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Duration thinkTime;
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+
+    // one per virtual user
+    private static class Session {
+        final String username;
+        String token;
+        String nextCursor;
+
+        Session(String username) {
+            this.username = username;
+        }
+    }
+
+    // latencies in nanoseconds of one worker, merged when the run is over
+    private static class Recording {
+        final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        final Map<Operation, Integer> errors = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos, boolean ok) {
+            int count = counts.getOrDefault(operation, 0);
+            long[] values = latencies.computeIfAbsent(operation, o -> new long[1024]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+            if (!ok) {
+                errors.merge(operation, 1, Integer::sum);
+            }
+        }
+    }
+
+    LoadGenerator(String baseUrl, Map<Operation, Integer> mix, Duration thinkTime, int users) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.thinkTime = thinkTime;
+        this.clientExecutor = Executors.newFixedThreadPool(Math.max(2, users / 4));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8081/api/v1");
+        int users = Integer.parseInt(options.getOrDefault("users", "20"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int seedEntries = Integer.parseInt(options.getOrDefault("seed-entries", "20"));
+        Duration thinkTime = Duration.ofMillis(Long.parseLong(options.getOrDefault("think-time", "0")));
+        Map<Operation, Integer> mix = parseMix(options.getOrDefault("mix", "login:5,create:20,paginate:50,search:25"));
+        File output = new File(options.getOrDefault("output", "target/load-test-result.json"));
+
+        LoadGenerator generator = new LoadGenerator(baseUrl, mix, thinkTime, users);
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        try {
+            List<Session> sessions = generator.setUp(workers, users, seedEntries);
+            System.out.printf("%d users signed up with %d entries each, warming up for %ds%n", users, seedEntries, warmup);
+            generator.run(workers, sessions, Duration.ofSeconds(warmup));
+            System.out.printf("Measuring for %ds%n", duration);
+            long started = System.nanoTime();
+            List<Recording> recordings = generator.run(workers, sessions, Duration.ofSeconds(duration));
+            double seconds = (System.nanoTime() - started) / 1e9;
+            generator.report(recordings, seconds, users, output);
+        } finally {
+            workers.shutdownNow();
+            generator.clientExecutor.shutdownNow();
+        }
+    }
+
+    static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        return mix;
+    }
+
+    private List<Session> setUp(ExecutorService workers, int users, int seedEntries) throws Exception {
+        String run = Long.toString(System.currentTimeMillis() % 1_000_000_000L, 36);
+        List<Future<Session>> signUps = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String username = "lt" + run + "-" + i;
+            signUps.add(workers.submit(() -> {
+                Session session = new Session(username);
+                ObjectNode body = objectMapper.createObjectNode().put("username", username).put("password", PASSWORD);
+                expectOk(post("/auth/user/sign-up", null, body), "sign-up");
+                // a rejected login (429/503 while the password checks queue up) would only show up as 403s later
+                if (!login(session)) {
+                    throw new IllegalStateException("login of " + username + " failed");
+                }
+                for (int entry = 0; entry < seedEntries; entry++) {
+                    expectOk(create(session), "create");
+                }
+                return session;
+            }));
+        }
+        List<Session> sessions = new ArrayList<>();
+        for (Future<Session> signUp : signUps) {
+            sessions.add(signUp.get());
+        }
+        return sessions;
+    }
+
+    private List<Recording> run(ExecutorService workers, List<Session> sessions, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Recording>> runs = new ArrayList<>();
+        for (Session session : sessions) {
+            runs.add(workers.submit(() -> {
+                Recording recording = new Recording();
+                while (System.nanoTime() < deadline) {
+                    Operation operation = pick();
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = execute(operation, session);
+                    } catch (IOException e) {
+                        ok = false;
+                    }
+                    recording.record(operation, System.nanoTime() - start, ok);
+                    if (!thinkTime.isZero()) {
+                        Thread.sleep(thinkTime.toMillis());
+                    }
+                }
+                return recording;
+            }));
+        }
+        List<Recording> recordings = new ArrayList<>();
+        for (Future<Recording> run : runs) {
+            recordings.add(run.get());
+        }
+        return recordings;
+    }
+
+    private Operation pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+            ticket -= weight.getValue();
+            if (ticket < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private boolean execute(Operation operation, Session session) throws IOException, InterruptedException {
+        switch (operation) {
+            case LOGIN:
+                return login(session);
+            case CREATE:
+                return succeeded(create(session));
+            case PAGINATE:
+                // mostly scrolling on from the previous page, sometimes back to the newest entries
+                String cursor = session.nextCursor != null && ThreadLocalRandom.current().nextInt(10) < 7
+                        ? session.nextCursor : "";
+                HttpResponse<String> page = get("/journal/paginated?size=10&cursor="
+                        + URLEncoder.encode(cursor, StandardCharsets.UTF_8), session.token);
+                if (!succeeded(page)) {
+                    return false;
+                }
+                JsonNode nextCursor = objectMapper.readTree(page.body()).path("data").path("nextCursor");
+                session.nextCursor = nextCursor.isTextual() ? nextCursor.asText() : null;
+                return true;
+            case SEARCH:
+                String word = WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+                return succeeded(get("/journal/search?size=20&query=" + word, session.token));
+            default:
+                throw new IllegalArgumentException(operation.name());
+        }
+    }
+
+    private boolean login(Session session) throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode().put("username", session.username).put("password", PASSWORD);
+        HttpResponse<String> response = post("/auth/user/login", null, body);
+        if (!succeeded(response)) {
+            return false;
+        }
+        session.token = objectMapper.readTree(response.body()).path("data").path("token").asText();
+        return true;
+    }
+
+    private HttpResponse<String> create(Session session) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("title", words(3))
+                .put("content", words(40 + random.nextInt(160)));
+        return post("/journal/create", session.token, body);
+    }
+
+    private static String words(int count) {
+        StringJoiner text = new StringJoiner(" ");
+        for (int i = 0; i < count; i++) {
+            text.add(WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    private HttpResponse<String> post(String path, String token, JsonNode body) throws IOException, InterruptedException {
+        return send(request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean succeeded(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static void expectOk(HttpResponse<String> response, String step) {
+        if (!succeeded(response)) {
+            throw new IllegalStateException(step + " failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private void report(List<Recording> recordings, double seconds, int users, File output) throws IOException {
+        ObjectNode result = objectMapper.createObjectNode()
+                .put("baseUrl", baseUrl)
+                .put("users", users)
+                .put("durationSeconds", seconds);
+        ArrayNode operations = result.putArray("operations");
+        System.out.printf("%n%-9s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            int count = 0;
+            int errors = 0;
+            for (Recording recording : recordings) {
+                count += recording.counts.getOrDefault(operation, 0);
+                errors += recording.errors.getOrDefault(operation, 0);
+            }
+            if (count == 0) {
+                continue;
+            }
+            long[] latencies = new long[count];
+            int offset = 0;
+            for (Recording recording : recordings) {
+                int recorded = recording.counts.getOrDefault(operation, 0);
+                if (recorded > 0) {
+                    System.arraycopy(recording.latencies.get(operation), 0, latencies, offset, recorded);
+                    offset += recorded;
+                }
+            }
+            Arrays.sort(latencies);
+            total += count;
+            ObjectNode row = operations.addObject()
+                    .put("operation", operation.name().toLowerCase(Locale.ROOT))
+                    .put("requests", count)
+                    .put("errors", errors)
+                    .put("throughput", count / seconds)
+                    .put("p50Ms", percentile(latencies, 50))
+                    .put("p90Ms", percentile(latencies, 90))
+                    .put("p99Ms", percentile(latencies, 99))
+                    .put("p999Ms", percentile(latencies, 99.9))
+                    .put("maxMs", latencies[count - 1] / 1e6);
+            System.out.printf("%-9s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", row.get("operation").asText(),
+                    count, errors, count / seconds, row.get("p50Ms").asDouble(), row.get("p90Ms").asDouble(),
+                    row.get("p99Ms").asDouble(), row.get("p999Ms").asDouble(), row.get("maxMs").asDouble());
+        }
+        result.put("throughput", total / seconds);
+        System.out.printf("%-9s %9d %7s %9.1f%n", "total", total, "", total / seconds);
+
+        File parent = output.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, result);
+        System.out.println("Results written to " + output.getPath());
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,97 @@
+package com.portfolio.journalApp.config;
+
+import com.portfolio.journalApp.repository.JournalActivityRepository;
+import com.portfolio.journalApp.repository.JournalContentStore;
+import com.portfolio.journalApp.repository.JournalRepository;
+import com.portfolio.journalApp.repository.JournalStatsRepository;
+import com.portfolio.journalApp.repository.RevokedTokenRepository;
+import com.portfolio.journalApp.repository.UserRepository;
+import com.portfolio.journalApp.repository.inmemory.InMemoryJournalActivityRepository;
+import com.portfolio.journalApp.repository.inmemory.InMemoryJournalContentStore;
+import com.portfolio.journalApp.repository.inmemory.InMemoryJournalRepository;
+import com.portfolio.journalApp.repository.inmemory.InMemoryJournalStatsRepository;
+import com.portfolio.journalApp.repository.inmemory.InMemoryRevokedTokenRepository;
+import com.portfolio.journalApp.repository.inmemory.InMemoryUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repositories kept in memory instead of MongoDB (run with SPRING_PROFILES_ACTIVE=in-memory), so the API
+ * can be load tested on a machine without a database. Every repository call waits for the configured
+ * latency plus a random share of the jitter first, standing in for the round trip to the server.
+ */
+@Configuration
+@Profile("in-memory")
+public class InMemoryRepositoryConfig {
+
+    @Value("${app.in-memory.latency:0ms}")
+    private Duration latency;
+
+    @Value("${app.in-memory.latency-jitter:0ms}")
+    private Duration latencyJitter;
+
+    private final InMemoryJournalRepository journals = new InMemoryJournalRepository();
+
+    @Bean
+    public JournalRepository journalRepository() {
+        return withLatency(JournalRepository.class, journals);
+    }
+
+    @Bean
+    public JournalContentStore journalContentStore() {
+        return withLatency(JournalContentStore.class, new InMemoryJournalContentStore());
+    }
+
+    @Bean
+    public UserRepository userRepository() {
+        return withLatency(UserRepository.class, new InMemoryUserRepository(journals));
+    }
+
+    @Bean
+    public JournalStatsRepository journalStatsRepository() {
+        return withLatency(JournalStatsRepository.class, new InMemoryJournalStatsRepository());
+    }
+
+    @Bean
+    public JournalActivityRepository journalActivityRepository() {
+        return withLatency(JournalActivityRepository.class, new InMemoryJournalActivityRepository());
+    }
+
+    @Bean
+    public RevokedTokenRepository revokedTokenRepository() {
+        return withLatency(RevokedTokenRepository.class, new InMemoryRevokedTokenRepository());
+    }
+
+    private <T> T withLatency(Class<T> repositoryType, T repository) {
+        long latencyNanos = latency.toNanos();
+        long jitterNanos = latencyJitter.toNanos();
+        if (latencyNanos == 0 && jitterNanos == 0) {
+            return repository;
+        }
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (target, method, args) -> {
+                    if (method.getDeclaringClass() != Object.class) {
+                        long delay = latencyNanos + (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos) : 0);
+                        try {
+                            TimeUnit.NANOSECONDS.sleep(delay);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    try {
+                        return method.invoke(repository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        return repositoryType.cast(proxy);
+    }
+}
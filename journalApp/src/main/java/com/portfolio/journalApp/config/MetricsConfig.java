@@ -0,0 +1,37 @@
+package com.portfolio.journalApp.config;
+
+import com.portfolio.journalApp.metrics.MongoDocumentMetrics;
+import com.portfolio.journalApp.metrics.MongoQueryTracker;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Request latency per endpoint ("http.server.requests") and MongoDB command latency per collection
+ * ("mongodb.driver.commands") come from Spring Boot. This adds timers for methods and classes
+ * annotated with {@code @Timed}, document counts per MongoDB command and the per-request query
+ * counts checked by {@link com.portfolio.journalApp.filter.QueryBudgetFilter}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    // applied to the blocking and the reactive client alike
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoDocumentMetricsCustomizer(MeterRegistry registry) {
+        MongoDocumentMetrics listener = new MongoDocumentMetrics(registry);
+        return settings -> settings.addCommandListener(listener);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoQueryTrackerCustomizer() {
+        MongoQueryTracker tracker = new MongoQueryTracker();
+        return settings -> settings.addCommandListener(tracker);
+    }
+}
@@ -0,0 +1,115 @@
+package com.portfolio.journalApp.config;
+
+import com.portfolio.journalApp.security.CustomUserDetailsService;
+import com.portfolio.journalApp.security.JwtPrincipalResolver;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux counterpart of {@link SecurityConfig} for the "reactive" profile: same path rules, same
+ * stateless bearer tokens, and tokens are checked by the same {@link JwtPrincipalResolver}.
+ */
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveSecurityConfig {
+    private final CustomUserDetailsService userDetailsService;
+    private final JwtPrincipalResolver principalResolver;
+
+    @Value("${app.metrics.prometheus.public:false}")
+    private boolean prometheusPublic;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ReactiveAuthenticationManager jwtAuthenticationManager) {
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(jwtAuthenticationManager);
+        jwtFilter.setServerAuthenticationConverter(exchange -> {
+            String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+                return Mono.empty();
+            }
+            String jwt = authorizationHeader.substring(7);
+            return Mono.just(new PreAuthenticatedAuthenticationToken(jwt, jwt));
+        });
+        // like the servlet filter, a bad token leaves the request unauthenticated instead of failing it,
+        // so /auth/** (e.g. logout with an expired token) still goes through
+        jwtFilter.setAuthenticationFailureHandler((filterExchange, e) ->
+                filterExchange.getChain().filter(filterExchange.getExchange()));
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/auth/**").permitAll()
+                        .pathMatchers("/user/**", "/journal/**").hasAnyRole("USER", "ADMIN")
+                        .pathMatchers("/admin/**").hasRole("ADMIN")
+                        .matchers(EndpointRequest.to(SecurityConfig.publicEndpoints(prometheusPublic))).permitAll()
+                        .matchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
+                        .anyExchange().authenticated())
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Token checks may hit the principal cache's loader or the denylist store, both blocking, so
+     * they run on the bounded elastic scheduler rather than on the event loop.
+     */
+    @Bean
+    public ReactiveAuthenticationManager jwtAuthenticationManager() {
+        return authentication -> Mono.fromCallable(() -> principalResolver.resolve((String) authentication.getCredentials()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .<Authentication>map(userDetails ->
+                        UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities()))
+                .onErrorMap(e -> e instanceof JwtException || e instanceof IllegalArgumentException,
+                        e -> {
+                            log.debug("Rejected bearer token: {}", e.getMessage());
+                            return new BadCredentialsException(e.getMessage(), e);
+                        });
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    // username/password login (AuthenticationController) stays a blocking check on the login executor
+    @Bean
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return new ProviderManager(provider);
+    }
+}
@@ -1,39 +1,118 @@
 package com.portfolio.journalApp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.journalApp.dto.AdminJournalPageDTO;
+import com.portfolio.journalApp.dto.AdminUserDTO;
+import com.portfolio.journalApp.dto.CursorPageDTO;
 import com.portfolio.journalApp.dto.ResponseDTO;
+import com.portfolio.journalApp.dto.StatsRebuildStatusDTO;
 import com.portfolio.journalApp.dto.UserJournalEntryDTO;
 import com.portfolio.journalApp.entity.JournalEntry;
 import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.service.JournalService;
+import com.portfolio.journalApp.service.JournalStatsService;
 import com.portfolio.journalApp.service.JournalServiceOld;
 import com.portfolio.journalApp.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/admin")
 @RequiredArgsConstructor
 public class AdminController {
 
     private final JournalServiceOld service;
+    private final JournalService journalService;
+    private final JournalStatsService journalStatsService;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
 
+    /**
+     * Entries of one page of users, grouped per user. The body keeps the usual ResponseDTO shape plus
+     * {@code hasNext}, and is written group by group as each user's entries are read, so it never sits
+     * in memory whole. A page whose users have no entries has an empty {@code data} array.
+     */
     @GetMapping("/journal-entry/all")
-    public ResponseEntity<ResponseDTO> getAllJournalEntries() {
-        List<UserJournalEntryDTO>  allEntries = service.getAllEntriesForAdmin();
+    public ResponseEntity<StreamingResponseBody> getAllJournalEntries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        AdminJournalPageDTO entries;
+        try {
+            entries = journalService.getAllEntriesForAdmin(page, size);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO error = new ResponseDTO(false, e.getMessage());
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> objectMapper.writeValue(outputStream, error));
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (entries; JsonGenerator json = objectMapper.createGenerator(outputStream)) {
+                json.writeStartObject();
+                json.writeBooleanField("success", true);
+                json.writeStringField("message", "Data fetched successfully");
+                json.writeBooleanField("hasNext", entries.isHasNext());
+                json.writeArrayFieldStart("data");
+                Iterator<UserJournalEntryDTO> iterator = entries.getGroups().iterator();
+                while (iterator.hasNext()) {
+                    objectMapper.writeValue(json, iterator.next());
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 
-        if (allEntries != null && !allEntries.isEmpty()) {
-            return new ResponseEntity<>(new ResponseDTO("Data fetched successfully", allEntries), HttpStatus.OK);
+    // backfill or repair of every user's journal statistics, recounted from their entries in the background
+    @PostMapping("/journal-stats/rebuild")
+    public ResponseEntity<ResponseDTO> rebuildJournalStats() {
+        try {
+            if (!journalStatsService.startRebuildAll()) {
+                return new ResponseEntity<>(
+                        new ResponseDTO(false, "A statistics rebuild is already running"),
+                        HttpStatus.CONFLICT
+                );
+            }
+            return new ResponseEntity<>(
+                    new ResponseDTO("Statistics rebuild started", journalStatsService.getRebuildAllStatus()),
+                    HttpStatus.ACCEPTED
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, "Error rebuilding statistics: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
         }
-        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    @GetMapping("/journal-stats/rebuild")
+    public ResponseEntity<ResponseDTO> getJournalStatsRebuild() {
+        StatsRebuildStatusDTO status = journalStatsService.getRebuildAllStatus();
+        if (status == null) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, "No statistics rebuild has been started"),
+                    HttpStatus.NOT_FOUND
+            );
+        }
+        return new ResponseEntity<>(new ResponseDTO(status.isRunning() ? "Statistics rebuild running"
+                : "Statistics rebuild finished", status), HttpStatus.OK);
     }
 
     @GetMapping("/journal-entry/id/{entryId}")
@@ -45,6 +124,31 @@ public class AdminController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
+    /**
+     * Paged user listing for the admin console: {@code prefix} filters on the start of the username,
+     * {@code after} takes the previous page's {@code nextCursor}. Only the users collection is read.
+     */
+    @GetMapping("/users")
+    public ResponseEntity<ResponseDTO> getUsers(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            CursorPageDTO<AdminUserDTO> users = userService.getUsersForAdmin(prefix, after, size, includeTotal);
+            return new ResponseEntity<>(new ResponseDTO("Users retrieved successfully", users), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ResponseDTO(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, "Error retrieving users: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    // loads every user in one response; kept for old clients, use /admin/users
+    @Deprecated
     @GetMapping("/user/all")
     public ResponseEntity<?> getAllUsers() {
         List<User> users = userService.findAllUsers();
@@ -5,19 +5,24 @@ import com.portfolio.journalApp.dto.LoginRequestDTO;
 import com.portfolio.journalApp.dto.RegisterRequestDTO;
 import com.portfolio.journalApp.dto.ResponseDTO;
 import com.portfolio.journalApp.entity.User;
-import com.portfolio.journalApp.security.CustomUserDetailsService;
+import com.portfolio.journalApp.exceptions.LoginRejectedException;
+import com.portfolio.journalApp.security.CustomUserDetails;
+import com.portfolio.journalApp.security.LoginExecutor;
+import com.portfolio.journalApp.security.TokenDenylist;
 import com.portfolio.journalApp.service.UserService;
 import com.portfolio.journalApp.utils.JWTUtil;
-import jakarta.servlet.http.HttpServletRequest;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -27,8 +32,9 @@ import org.springframework.web.bind.annotation.*;
 public class AuthenticationController {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
-    private final CustomUserDetailsService userDetailsService;
     private final JWTUtil jwtUtil;
+    private final TokenDenylist tokenDenylist;
+    private final LoginExecutor loginExecutor;
 
     @GetMapping("/health-check")
     public ResponseEntity<ResponseDTO> healthCheck() {
@@ -62,13 +68,14 @@ public class AuthenticationController {
     @PostMapping("/user/login")
     public ResponseEntity<ResponseDTO> login(@RequestBody LoginRequestDTO requestDTO) {
         try {
-            authenticationManager.authenticate(
+            // BCrypt runs on the bounded login pool, not on the request thread
+            Authentication authentication = loginExecutor.authenticate(authenticationManager,
                     new UsernamePasswordAuthenticationToken(requestDTO.getUsername(), requestDTO.getPassword()));
-            UserDetails userDetails = userDetailsService.loadUserByUsername(requestDTO.getUsername());
-            String jwt = jwtUtil.generateToken(userDetails.getUsername());
+            User user = ((CustomUserDetails) authentication.getPrincipal()).getUser();
+            String jwt = jwtUtil.generateToken(user);
 
-            AuthResponseDTO authResponse = new AuthResponseDTO(jwt, userDetails.getUsername());
-            userService.updateLastLoginDate(userDetails.getUsername());
+            AuthResponseDTO authResponse = new AuthResponseDTO(jwt, user.getUsername());
+            userService.updateLastLoginDate(user);
             return new ResponseEntity<>(new ResponseDTO(true, "Login successful", authResponse), HttpStatus.OK);
 
 
@@ -76,6 +83,10 @@ public class AuthenticationController {
             log.error("Exception occurred while login", e);
             return new ResponseEntity<>(new ResponseDTO(false, "Incorrect username or password"), HttpStatus.UNAUTHORIZED);
 
+        } catch (LoginRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ResponseDTO(false, e.getMessage()));
         }catch (Exception e) {
             return new ResponseEntity<>(
                     new ResponseDTO(false, "Login failed: " + e.getMessage()),
@@ -84,14 +95,17 @@ public class AuthenticationController {
         }
     }
     @PostMapping("/logout")
-    public ResponseEntity<ResponseDTO> logout(HttpServletRequest request) {
-        // With JWT, logout is typically handled on the client side by removing the token
-        // For server-side logout, you'd need to implement a token blacklist
-
-        String authHeader = request.getHeader("Authorization");
+    public ResponseEntity<ResponseDTO> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        // The token's id goes on the denylist until the token expires; clients should still discard it
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            // Here you could add the token to a blacklist if needed
-            // For now, we'll just return a success message
+            try {
+                Claims claims = jwtUtil.parseClaims(authHeader.substring(7));
+                if (claims.getId() != null) {
+                    tokenDenylist.revoke(claims.getId(), claims.getExpiration());
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                // an invalid or expired token is already unusable
+            }
         }
 
         return new ResponseEntity<>(
@@ -106,8 +120,9 @@ public class AuthenticationController {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
 
-                if (jwtUtil.validateToken(token)) {
-                    String username = jwtUtil.extractUsername(token);
+                Claims claims = jwtUtil.parseClaims(token);
+                if (claims.getId() == null || !tokenDenylist.isRevoked(claims.getId())) {
+                    String username = claims.getSubject();
                     return new ResponseEntity<>(
                             new ResponseDTO("Token is valid", username),
                             HttpStatus.OK
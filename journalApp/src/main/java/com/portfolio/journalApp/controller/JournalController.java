@@ -1,48 +1,77 @@
 package com.portfolio.journalApp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.portfolio.journalApp.dto.CursorPageDTO;
+import com.portfolio.journalApp.dto.JournalBatchRequestDTO;
+import com.portfolio.journalApp.dto.JournalBatchResultDTO;
 import com.portfolio.journalApp.dto.ResponseDTO;
 import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.exceptions.ContentTooLargeException;
 import com.portfolio.journalApp.exceptions.ResourceNotFoundException;
 import com.portfolio.journalApp.service.JournalService;
+import com.portfolio.journalApp.service.JournalStatsService;
 import com.portfolio.journalApp.service.UserService;
+import com.portfolio.journalApp.utils.JournalVersion;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/journal")
 @RequiredArgsConstructor
 public class JournalController {
 
     private final JournalService service;
+    private final JournalStatsService statsService;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/all")
     public ResponseEntity<ResponseDTO> getAllJournalEntriesOfUser(
             @AuthenticationPrincipal UserDetails userDetails,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            HttpServletRequest request) {
         try {
+            JournalVersion version = service.getJournalVersion(userDetails.getUsername());
+            if (isNotModified(request, version)) {
+                return withVersion(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+            }
             List<JournalEntry> allEntries = service.getAllEntries(userDetails.getUsername(), sortOrder);
             if (allEntries != null && !allEntries.isEmpty()) {
-                return new ResponseEntity<>(
-                        new ResponseDTO("Entries retrieved successfully", allEntries),
-                        HttpStatus.OK
-                );
+                return withVersion(ResponseEntity.ok(), version)
+                        .body(new ResponseDTO("Entries retrieved successfully", allEntries));
             }
-            return new ResponseEntity<>(
-                    new ResponseDTO(false, "No entries found for: " + userDetails.getUsername()),
-                    HttpStatus.OK
-            );
+            return withVersion(ResponseEntity.ok(), version)
+                    .body(new ResponseDTO(false, "No entries found for: " + userDetails.getUsername()));
         } catch (Exception e) {
             return new ResponseEntity<>(
                     new ResponseDTO(false, "Error retrieving entries: " + e.getMessage()),
@@ -52,17 +81,81 @@ public class JournalController {
     }
 
 
+    /**
+     * Newline-delimited JSON export of every entry, written while the MongoDB cursor is iterated
+     * so memory use doesn't grow with the size of the journal. {@code gzip=true} compresses the body.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportEntries(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        String username = userDetails.getUsername();
+        ObjectWriter writer = objectMapper.writerFor(JournalEntry.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            try (Stream<JournalEntry> entries = service.streamAllEntries(username);
+                 SequenceWriter sequence = writer.writeValues(target)) {
+                Iterator<JournalEntry> iterator = entries.iterator();
+                if (iterator.hasNext()) {
+                    while (iterator.hasNext()) {
+                        sequence.write(iterator.next());
+                    }
+                    sequence.flush();
+                    target.write('\n');
+                }
+            }
+            if (gzip) {
+                ((GZIPOutputStream) target).finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, exportDisposition(username).toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // usernames may hold quotes or non-ASCII characters: escaped, with an RFC 5987 filename* alongside
+    static ContentDisposition exportDisposition(String username) {
+        return ContentDisposition.attachment().filename("journal-" + username + ".ndjson", StandardCharsets.UTF_8).build();
+    }
+
+    /**
+     * Offset pages by default. Passing {@code cursor} (empty for the first page) switches to keyset
+     * pagination: the response carries a {@code nextCursor} and only counts the total on request.
+     */
     @GetMapping("/paginated")
     public ResponseEntity<ResponseDTO> getPaginatedEntries(
             @AuthenticationPrincipal UserDetails userDetails,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            HttpServletRequest request) {
         try {
+            JournalVersion version = service.getJournalVersion(userDetails.getUsername());
+            if (isNotModified(request, version)) {
+                return withVersion(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+            }
+            if (cursor != null) {
+                CursorPageDTO<JournalEntry> entries = service.getEntriesByCursor(
+                        userDetails.getUsername(), cursor, size, sortOrder, includeTotal);
+                return withVersion(ResponseEntity.ok(), version)
+                        .body(new ResponseDTO("Paginated entries retrieved successfully", entries));
+            }
             Page<JournalEntry> entries = service.getPaginatedEntries(userDetails.getUsername(), page, size, sortOrder);
+            return withVersion(ResponseEntity.ok(), version)
+                    .body(new ResponseDTO("Paginated entries retrieved successfully", entries));
+        } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(
-                    new ResponseDTO("Paginated entries retrieved successfully", entries),
-                    HttpStatus.OK
+                    new ResponseDTO(false, e.getMessage()),
+                    HttpStatus.BAD_REQUEST
             );
         } catch (Exception e) {
             return new ResponseEntity<>(
@@ -75,14 +168,17 @@ public class JournalController {
     @GetMapping("/{entryId}")
     public ResponseEntity<ResponseDTO> getEntryById(
             @PathVariable String entryId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request) {
         try {
+            JournalVersion version = service.getJournalVersion(userDetails.getUsername());
+            if (isNotModified(request, version)) {
+                return withVersion(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+            }
             Optional<JournalEntry> entry = service.findEntryByIdAndUser(entryId, userDetails.getUsername());
             if (entry.isPresent()) {
-                return new ResponseEntity<>(
-                        new ResponseDTO("Entry retrieved successfully", entry.get()),
-                        HttpStatus.OK
-                );
+                return withVersion(ResponseEntity.ok(), version)
+                        .body(new ResponseDTO("Entry retrieved successfully", entry.get()));
             }
             return new ResponseEntity<>(
                     new ResponseDTO(false, "Entry not found"),
@@ -96,13 +192,95 @@ public class JournalController {
         }
     }
 
+    /**
+     * The entry's content alone, as text. Reads of entries only carry a {@code contentLength} for
+     * content above the inline limit; this serves it, and answers Range requests with just the
+     * requested bytes (206) so a long entry can be fetched in parts or resumed.
+     */
+    @GetMapping("/{entryId}/content")
+    public ResponseEntity<?> getEntryContent(
+            @PathVariable String entryId,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request) {
+        try {
+            Optional<JournalEntry> entry = service.findEntryByIdAndUser(entryId, userDetails.getUsername());
+            Resource content = entry.map(service::openContent).orElse(null);
+            if (content == null) {
+                return new ResponseEntity<>(
+                        new ResponseDTO(false, "Entry not found"),
+                        HttpStatus.NOT_FOUND
+                );
+            }
+            // strong, as ranges of one version may be combined; the entry version changes with the content
+            String etag = "\"" + entryId + "-" + entry.get().getVersion() + "\"";
+            if (new ServletWebRequest(request).checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                    .body(content);
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, "Error retrieving entry content: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    /**
+     * Replaces the entry's content with the request body (UTF-8 text), streamed to storage as it
+     * arrives rather than parsed as JSON, for content too large to send comfortably with an update.
+     */
+    @PutMapping(value = "/{entryId}/content", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ResponseDTO> replaceEntryContent(
+            @PathVariable String entryId,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletRequest request) {
+        try {
+            JournalEntry updatedEntry = service.replaceContent(
+                    entryId, userDetails.getUsername(), request.getInputStream(), request.getContentLengthLong());
+            return new ResponseEntity<>(
+                    new ResponseDTO("Entry content updated successfully", updatedEntry),
+                    HttpStatus.OK
+            );
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, e.getMessage()),
+                    HttpStatus.NOT_FOUND
+            );
+        } catch (ContentTooLargeException e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, e.getMessage()),
+                    HttpStatus.PAYLOAD_TOO_LARGE
+            );
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, e.getMessage()),
+                    HttpStatus.CONFLICT
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, "Error updating entry content: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
 
+    /**
+     * Full-text search over the titles and inline content of the user's entries, best matches first.
+     * Content above the inline limit is kept in GridFS, outside the text index, so such an entry
+     * (a hit with a {@code contentLength}) is only found by its title.
+     */
     @GetMapping("/search")
     public ResponseEntity<ResponseDTO> searchEntries(
             @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
             @AuthenticationPrincipal UserDetails userDetails) {
         try {
-            List<JournalEntry> entries = service.searchEntries(userDetails.getUsername(), query);
+            Page<JournalEntry> entries = service.searchEntries(userDetails.getUsername(), query, page, size);
             return new ResponseEntity<>(
                     new ResponseDTO("Search completed", entries),
                     HttpStatus.OK
@@ -156,23 +334,77 @@ public class JournalController {
 //            );
 //        }
 //    }
-//
-//
-//    @GetMapping("/stats")
-//    public ResponseEntity<ResponseDTO> getJournalStats(@AuthenticationPrincipal UserDetails userDetails) {
-//        try {
-//            var stats = service.getJournalStats(userDetails.getUsername());
-//            return new ResponseEntity<>(
-//                    new ResponseDTO("Statistics retrieved successfully", stats),
-//                    HttpStatus.OK
-//            );
-//        } catch (Exception e) {
-//            return new ResponseEntity<>(
-//                    new ResponseDTO("Error retrieving statistics: " + e.getMessage()),
-//                    HttpStatus.INTERNAL_SERVER_ERROR
-//            );
-//        }
-//    }
+
+    // served from the per-user statistics document, independent of how many entries there are
+    @GetMapping("/stats")
+    public ResponseEntity<ResponseDTO> getJournalStats(@AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            var stats = statsService.getJournalStats(userDetails.getUsername());
+            return new ResponseEntity<>(
+                    new ResponseDTO("Statistics retrieved successfully", stats),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO("Error retrieving statistics: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    // Activity is answered from the per-year day bitmaps, not by scanning entries
+
+    @GetMapping("/activity/streaks")
+    public ResponseEntity<ResponseDTO> getStreaks(@AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return new ResponseEntity<>(
+                    new ResponseDTO("Streaks retrieved successfully", statsService.getStreaks(userDetails.getUsername())),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, "Error retrieving streaks: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    @GetMapping("/activity/heatmap")
+    public ResponseEntity<ResponseDTO> getHeatmap(
+            @RequestParam(required = false) Integer year,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            int heatmapYear = year != null ? year : LocalDate.now().getYear();
+            return new ResponseEntity<>(
+                    new ResponseDTO("Heatmap retrieved successfully", statsService.getHeatmap(userDetails.getUsername(), heatmapYear)),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, "Error retrieving heatmap: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
+    @GetMapping("/activity/count")
+    public ResponseEntity<ResponseDTO> countActiveDays(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return new ResponseEntity<>(
+                    new ResponseDTO("Active days counted successfully",
+                            statsService.countActiveDays(userDetails.getUsername(), startDate, endDate)),
+                    HttpStatus.OK
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, "Error counting active days: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
 
     // 8. Create entry (enhanced with validation)
     @PostMapping("/create")
@@ -199,6 +431,35 @@ public class JournalController {
         }
     }
 
+    /**
+     * Many creates, updates and deletes in one request, e.g. an offline client catching up. Every
+     * operation gets a result at the same index; invalid or foreign ones don't stop the others.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ResponseDTO> applyBatch(
+            @Valid @RequestBody JournalBatchRequestDTO request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            List<JournalBatchResultDTO> results = service.applyBatch(userDetails.getUsername(), request.getOperations());
+            long applied = results.stream().filter(JournalBatchResultDTO::isSuccess).count();
+            return new ResponseEntity<>(
+                    new ResponseDTO(applied == results.size(),
+                            applied + " of " + results.size() + " operations applied", results),
+                    HttpStatus.OK
+            );
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, e.getMessage()),
+                    HttpStatus.BAD_REQUEST
+            );
+        } catch (Exception e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, "Error applying batch: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
+
     @PutMapping("/update/{entryId}")
     public ResponseEntity<ResponseDTO> updateEntryById(
             @PathVariable String entryId,
@@ -221,6 +482,11 @@ public class JournalController {
                     new ResponseDTO(false, e.getMessage()),
                     HttpStatus.NOT_FOUND
             );
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(
+                    new ResponseDTO(false, e.getMessage()),
+                    HttpStatus.CONFLICT
+            );
         } catch (Exception e) {
             return new ResponseEntity<>(
                     new ResponseDTO("Error updating entry: " + e.getMessage()),
@@ -253,4 +519,24 @@ public class JournalController {
             );
         }
     }
-}
\ No newline at end of file
+
+    // Conditional reads: the journal version is read before any entry, so a client whose copy is
+    // current gets a 304 without entries being loaded. Only successful reads carry the version; an
+    // error must never be revalidated as current.
+    private boolean isNotModified(HttpServletRequest request, JournalVersion version) {
+        // without a response, checkNotModified only evaluates If-None-Match / If-Modified-Since
+        return version != null && new ServletWebRequest(request).checkNotModified(version.etag(), version.lastModifiedMillis());
+    }
+
+    private ResponseEntity.BodyBuilder withVersion(ResponseEntity.BodyBuilder response, JournalVersion version) {
+        if (version == null) {
+            return response;
+        }
+        // may be stored, but only by the user's own client and always revalidated
+        response.eTag(version.etag()).cacheControl(CacheControl.noCache().cachePrivate());
+        if (version.getLastModified() != null) {
+            response.lastModified(version.lastModifiedMillis());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,148 @@
+package com.portfolio.journalApp.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.journalApp.dto.ResponseDTO;
+import com.portfolio.journalApp.dto.UserJournalEntryDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.service.JournalService;
+import com.portfolio.journalApp.service.JournalServiceOld;
+import com.portfolio.journalApp.service.JournalStatsService;
+import com.portfolio.journalApp.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The admin API on WebFlux, active with the "reactive" profile instead of {@link AdminController}.
+ * Paths, parameters and response bodies are the same; the services behind it block, so every call
+ * runs on the bounded elastic scheduler.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class ReactiveAdminController {
+
+    private final JournalServiceOld service;
+    private final JournalService journalService;
+    private final JournalStatsService journalStatsService;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Entries of one page of users, grouped per user, in the usual ResponseDTO shape plus
+     * {@code hasNext}. Groups are written as each user's entries are read, at the pace the connection
+     * takes them; a page whose users have no entries has an empty {@code data} array.
+     */
+    @GetMapping("/journal-entry/all")
+    public Mono<ResponseEntity<Flux<String>>> getAllJournalEntries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return Mono.fromCallable(() -> journalService.getAllEntriesForAdmin(page, size))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(entries -> {
+                    Iterator<UserJournalEntryDTO> iterator = entries.getGroups().iterator();
+                    Flux<String> groups = Flux.fromIterable(() -> iterator)
+                            .index((i, group) -> (i == 0 ? "" : ",") + toJson(group))
+                            .doFinally(signal -> entries.close())
+                            .subscribeOn(Schedulers.boundedElastic());
+                    Flux<String> body = Flux.concat(
+                            Mono.just("{\"success\":true,\"message\":\"Data fetched successfully\",\"hasNext\":"
+                                    + entries.isHasNext() + ",\"data\":["),
+                            groups,
+                            Mono.just("]}"));
+                    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+                })
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(Flux.just(toJson(new ResponseDTO(false, e.getMessage()))))));
+    }
+
+    @PostMapping("/journal-stats/rebuild")
+    public Mono<ResponseEntity<ResponseDTO>> rebuildJournalStats() {
+        return Mono.fromCallable(() -> journalStatsService.startRebuildAll()
+                        ? new ResponseEntity<>(
+                                new ResponseDTO("Statistics rebuild started", journalStatsService.getRebuildAllStatus()),
+                                HttpStatus.ACCEPTED)
+                        : new ResponseEntity<>(
+                                new ResponseDTO(false, "A statistics rebuild is already running"),
+                                HttpStatus.CONFLICT))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, "Error rebuilding statistics: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @GetMapping("/journal-stats/rebuild")
+    public Mono<ResponseEntity<ResponseDTO>> getJournalStatsRebuild() {
+        return Mono.justOrEmpty(journalStatsService.getRebuildAllStatus())
+                .map(status -> new ResponseEntity<>(
+                        new ResponseDTO(status.isRunning() ? "Statistics rebuild running" : "Statistics rebuild finished", status),
+                        HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(
+                        new ResponseDTO(false, "No statistics rebuild has been started"),
+                        HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/journal-entry/id/{entryId}")
+    public Mono<ResponseEntity<JournalEntry>> getEntryById(@PathVariable String entryId) {
+        return Mono.fromCallable(() -> service.findEntryById(entryId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(entry -> entry.map(found -> new ResponseEntity<>(found, HttpStatus.OK))
+                        .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND)));
+    }
+
+    @GetMapping("/users")
+    public Mono<ResponseEntity<ResponseDTO>> getUsers(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return Mono.fromCallable(() -> userService.getUsersForAdmin(prefix, after, size, includeTotal))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(users -> new ResponseEntity<>(
+                        new ResponseDTO("Users retrieved successfully", users),
+                        HttpStatus.OK))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, e.getMessage()),
+                        HttpStatus.BAD_REQUEST)))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, "Error retrieving users: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    // loads every user in one response; kept for old clients, use /admin/users
+    @Deprecated
+    @GetMapping("/user/all")
+    public Mono<ResponseEntity<List<User>>> getAllUsers() {
+        return Mono.fromCallable(userService::findAllUsers)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(users -> new ResponseEntity<>(users, users.isEmpty() ? HttpStatus.NOT_FOUND : HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.portfolio.journalApp.controller;
+
+import com.portfolio.journalApp.dto.ResponseDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.exceptions.ContentTooLargeException;
+import com.portfolio.journalApp.exceptions.ResourceNotFoundException;
+import com.portfolio.journalApp.service.JournalStatsService;
+import com.portfolio.journalApp.service.ReactiveJournalService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+
+/**
+ * The journal API on WebFlux, active with the "reactive" profile instead of {@link JournalController}.
+ * Paths, parameters and response bodies match the servlet controller's; ETag revalidation, /recent, /batch
+ * and the content endpoints are servlet-only.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/journal")
+@RequiredArgsConstructor
+public class ReactiveJournalController {
+
+    private final ReactiveJournalService service;
+    private final JournalStatsService statsService;
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<ResponseDTO>> getAllJournalEntriesOfUser(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "desc") String sortOrder) {
+        return service.getAllEntries(userDetails.getUsername(), sortOrder)
+                .collectList()
+                .map(allEntries -> allEntries.isEmpty()
+                        ? new ResponseEntity<>(
+                                new ResponseDTO(false, "No entries found for: " + userDetails.getUsername()),
+                                HttpStatus.OK)
+                        : new ResponseEntity<>(
+                                new ResponseDTO("Entries retrieved successfully", allEntries),
+                                HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, "Error retrieving entries: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    /**
+     * Newline-delimited JSON export of every entry, oldest first. Entries are written as the cursor
+     * yields them and demand from the connection drives how fast the cursor is read.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<JournalEntry>> exportEntries(@AuthenticationPrincipal UserDetails userDetails) {
+        String username = userDetails.getUsername();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, JournalController.exportDisposition(username).toString())
+                .body(service.getAllEntries(username, "asc"));
+    }
+
+    @GetMapping("/paginated")
+    public Mono<ResponseEntity<ResponseDTO>> getPaginatedEntries(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        String username = userDetails.getUsername();
+        if (cursor != null) {
+            return Mono.defer(() -> service.getEntriesByCursor(username, cursor, size, sortOrder, includeTotal))
+                    .map(entries -> new ResponseEntity<>(
+                            new ResponseDTO("Paginated entries retrieved successfully", entries),
+                            HttpStatus.OK))
+                    .onErrorResume(IllegalArgumentException.class, e -> Mono.just(new ResponseEntity<>(
+                            new ResponseDTO(false, e.getMessage()),
+                            HttpStatus.BAD_REQUEST)))
+                    .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                            new ResponseDTO("Error retrieving paginated entries: " + e.getMessage()),
+                            HttpStatus.INTERNAL_SERVER_ERROR)));
+        }
+        return Mono.zip(service.getPaginatedEntries(username, page, size, sortOrder).collectList(),
+                        service.countEntries(username))
+                .map(result -> new ResponseEntity<>(
+                        new ResponseDTO("Paginated entries retrieved successfully",
+                                new PageImpl<>(result.getT1(), PageRequest.of(page, size), result.getT2())),
+                        HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO("Error retrieving paginated entries: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @GetMapping("/{entryId}")
+    public Mono<ResponseEntity<ResponseDTO>> getEntryById(
+            @PathVariable String entryId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return service.findEntryByIdAndUser(entryId, userDetails.getUsername())
+                .map(entry -> new ResponseEntity<>(
+                        new ResponseDTO("Entry retrieved successfully", entry),
+                        HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(
+                        new ResponseDTO(false, "Entry not found"),
+                        HttpStatus.NOT_FOUND))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, "Error retrieving entry: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<ResponseDTO>> searchEntries(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return service.searchEntries(userDetails.getUsername(), query, page, size)
+                .collectList()
+                .map(entries -> new ResponseEntity<>(
+                        new ResponseDTO("Search completed", entries),
+                        HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, "Error searching entries: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @GetMapping("/filter/date-range")
+    public Mono<ResponseEntity<ResponseDTO>> getEntriesByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return service.getEntriesByDateRange(userDetails.getUsername(), startDate.atStartOfDay(), endDate.atTime(23, 59, 59))
+                .collectList()
+                .map(entries -> new ResponseEntity<>(
+                        new ResponseDTO("Entries filtered successfully", entries),
+                        HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, "Error filtering entries: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    // the statistics document is read by the blocking service, off the event loop
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<ResponseDTO>> getJournalStats(@AuthenticationPrincipal UserDetails userDetails) {
+        return Mono.fromCallable(() -> statsService.getJournalStats(userDetails.getUsername()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(stats -> new ResponseEntity<>(
+                        new ResponseDTO("Statistics retrieved successfully", stats),
+                        HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO("Error retrieving statistics: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @GetMapping("/activity/streaks")
+    public Mono<ResponseEntity<ResponseDTO>> getStreaks(@AuthenticationPrincipal UserDetails userDetails) {
+        return Mono.fromCallable(() -> statsService.getStreaks(userDetails.getUsername()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(streaks -> new ResponseEntity<>(
+                        new ResponseDTO("Streaks retrieved successfully", streaks),
+                        HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, "Error retrieving streaks: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @GetMapping("/activity/heatmap")
+    public Mono<ResponseEntity<ResponseDTO>> getHeatmap(
+            @RequestParam(required = false) Integer year,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        int heatmapYear = year != null ? year : LocalDate.now().getYear();
+        return Mono.fromCallable(() -> statsService.getHeatmap(userDetails.getUsername(), heatmapYear))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(heatmap -> new ResponseEntity<>(
+                        new ResponseDTO("Heatmap retrieved successfully", heatmap),
+                        HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, "Error retrieving heatmap: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @GetMapping("/activity/count")
+    public Mono<ResponseEntity<ResponseDTO>> countActiveDays(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return Mono.fromCallable(() -> statsService.countActiveDays(userDetails.getUsername(), startDate, endDate))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(count -> new ResponseEntity<>(
+                        new ResponseDTO("Active days counted successfully", count),
+                        HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, "Error counting active days: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @PostMapping("/create")
+    public Mono<ResponseEntity<ResponseDTO>> createEntryForUser(
+            @Valid @RequestBody JournalEntry entry,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return service.saveEntry(entry, userDetails.getUsername())
+                .map(newEntry -> new ResponseEntity<>(
+                        new ResponseDTO("New journal entry created", newEntry),
+                        HttpStatus.CREATED))
+                .onErrorResume(ContentTooLargeException.class, e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, e.getMessage()),
+                        HttpStatus.PAYLOAD_TOO_LARGE)))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, "Error creating entry: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @PutMapping("/update/{entryId}")
+    public Mono<ResponseEntity<ResponseDTO>> updateEntryById(
+            @PathVariable String entryId,
+            @Valid @RequestBody JournalEntry newEntry,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return service.updateEntry(entryId, newEntry, userDetails.getUsername())
+                .map(updatedEntry -> new ResponseEntity<>(
+                        new ResponseDTO("Entry updated successfully", updatedEntry),
+                        HttpStatus.OK))
+                .onErrorResume(ResourceNotFoundException.class, e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, e.getMessage()),
+                        HttpStatus.NOT_FOUND)))
+                .onErrorResume(ContentTooLargeException.class, e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, e.getMessage()),
+                        HttpStatus.PAYLOAD_TOO_LARGE)))
+                .onErrorResume(OptimisticLockingFailureException.class, e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO(false, e.getMessage()),
+                        HttpStatus.CONFLICT)))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO("Error updating entry: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @DeleteMapping("/delete/{entryId}")
+    public Mono<ResponseEntity<ResponseDTO>> deleteEntryOfUser(
+            @PathVariable String entryId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return service.deleteEntry(entryId, userDetails.getUsername())
+                .map(deleted -> deleted
+                        ? new ResponseEntity<>(new ResponseDTO("Entry deleted successfully"), HttpStatus.OK)
+                        : new ResponseEntity<>(new ResponseDTO("Entry not found or access denied"), HttpStatus.NOT_FOUND))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(
+                        new ResponseDTO("Error deleting entry: " + e.getMessage()),
+                        HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+}
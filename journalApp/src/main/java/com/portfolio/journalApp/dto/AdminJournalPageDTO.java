@@ -0,0 +1,22 @@
+package com.portfolio.journalApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.stream.Stream;
+
+/**
+ * One page of the admin journal listing: the entries of a page of users, grouped per user and read
+ * as the stream is consumed, and whether a next page of users follows.
+ */
+@Getter
+@AllArgsConstructor
+public class AdminJournalPageDTO implements AutoCloseable {
+    private final Stream<UserJournalEntryDTO> groups; // holds MongoDB cursors open until closed
+    private final boolean hasNext;
+
+    @Override
+    public void close() {
+        groups.close();
+    }
+}
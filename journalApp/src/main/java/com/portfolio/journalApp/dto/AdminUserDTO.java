@@ -0,0 +1,24 @@
+package com.portfolio.journalApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// one row of the admin console's user list, projected from the users collection alone
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AdminUserDTO {
+    private String id;
+    private String username;
+    private String email;
+    private List<String> roles;
+    private LocalDateTime createdDate;
+    private LocalDateTime lastLoginDate;
+    private int entryCount; // size of the user's entry reference list
+}
@@ -0,0 +1,20 @@
+package com.portfolio.journalApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content = new ArrayList<>();
+    private String nextCursor; // null on the last page
+    private boolean hasNext;
+    private Long totalElements; // only filled in when the client asks for it
+}
@@ -0,0 +1,35 @@
+package com.portfolio.journalApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class JournalBatchOperationDTO {
+
+    public enum Type { CREATE, UPDATE, DELETE }
+
+    private Type type;
+
+    private String id; // entry to update or delete, ignored for CREATE
+
+    private String title;
+
+    private String content;
+
+    // set by the service when the content is too large to stay inline and was put in the content store
+    @JsonIgnore
+    private String contentFileId;
+
+    @JsonIgnore
+    private Long contentLength;
+
+    public JournalBatchOperationDTO(Type type, String id, String title, String content) {
+        this(type, id, title, content, null, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.portfolio.journalApp.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class JournalBatchRequestDTO {
+    // items are validated one by one by the service so each gets its own result
+    @NotEmpty(message = "At least one operation is required")
+    private List<JournalBatchOperationDTO> operations = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.portfolio.journalApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class JournalBatchResultDTO {
+    private int index; // position of the operation in the request
+    private JournalBatchOperationDTO.Type type;
+    private String id; // for CREATE, the id the new entry was stored under
+    private boolean success;
+    private String error; // null when the operation was applied
+}
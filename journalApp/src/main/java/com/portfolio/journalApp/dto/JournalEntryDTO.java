@@ -1,5 +1,6 @@
 package com.portfolio.journalApp.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,4 +17,7 @@ public class JournalEntryDTO {
     private String content;
     private LocalDateTime createdDate;
 
+    // only for entries whose content is kept in GridFS (content is null then)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long contentLength;
 }
@@ -0,0 +1,24 @@
+package com.portfolio.journalApp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// progress of the background rebuild of every user's statistics
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatsRebuildStatusDTO {
+
+    private boolean running;
+
+    private int usersRebuilt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private String error;
+}
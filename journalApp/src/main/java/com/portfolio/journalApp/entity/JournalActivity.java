@@ -0,0 +1,53 @@
+package com.portfolio.journalApp.entity;
+
+import com.portfolio.journalApp.utils.ActivityCalendar;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One user's active days of one year as a 366-bit bitmap ({@link ActivityCalendar} explains the
+ * layout). The words are separate fields so a write can flip a single bit with $bit.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "journal_activity")
+@CompoundIndex(name = "user_year", def = "{ 'userId': 1, 'year': 1 }")
+public class JournalActivity {
+
+    @Id
+    private String id; // userId:year
+
+    private String userId;
+
+    private int year;
+
+    private long w0;
+    private long w1;
+    private long w2;
+    private long w3;
+    private long w4;
+    private long w5;
+
+    public static String id(String userId, int year) {
+        return userId + ":" + year;
+    }
+
+    public static String wordField(int index) {
+        return "w" + index;
+    }
+
+    public long[] words() {
+        return new long[]{w0, w1, w2, w3, w4, w5};
+    }
+
+    public static JournalActivity of(String userId, int year, long[] words) {
+        return new JournalActivity(id(userId, year), userId, year, words[0], words[1], words[2], words[3], words[4], words[5]);
+    }
+}
@@ -1,12 +1,17 @@
 package com.portfolio.journalApp.entity;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.LocalDateTime;
 
@@ -15,6 +20,11 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Document(collection = "journal_entries")
+@CompoundIndexes({
+        @CompoundIndex(name = "owner_createdDate", def = "{ 'user.$id': 1, 'createdDate': -1, '_id': -1 }"),
+        // text index prefixed by owner so a search only walks the postings of one user's journal
+        @CompoundIndex(name = "owner_text", def = "{ 'user.$id': 1, 'title': 'text', 'content': 'text' }")
+})
 public class JournalEntry {
 
     @Id
@@ -24,11 +34,33 @@ public class JournalEntry {
     @Size(max = 200, message = "Title cannot exceed 200 characters")
     private String title;
 
+    // null when the content is above the inline limit and kept in GridFS instead, see contentFileId
     private String content;
 
+    // GridFS file holding the content of a large entry; only the entry document is returned by reads
+    @JsonIgnore
+    private String contentFileId;
+
+    // size in bytes (UTF-8) of content kept in GridFS, served by GET /journal/{id}/content
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long contentLength;
+
     private LocalDateTime createdDate;
 
-    @DBRef
-    @JsonBackReference
+    // starts at 1 and goes up with every change to the entry
+    private long version;
+
+    private LocalDateTime lastModifiedDate;
+
+    // lazy: loading an entry must not load its owner, whose entries would come along with it. Never
+    // written to JSON, which would resolve it
+    @DBRef(lazy = true)
+    @JsonIgnore
     private User user;
+
+    // relevance of a search hit, only populated by text queries and never stored
+    @TextScore
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Float score;
 }
\ No newline at end of file
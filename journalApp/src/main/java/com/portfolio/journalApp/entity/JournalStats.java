@@ -0,0 +1,52 @@
+package com.portfolio.journalApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.IsoFields;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running totals of one user's journal, kept up to date by every create and delete so reading
+ * statistics never touches the entries themselves.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "journal_stats")
+public class JournalStats {
+
+    // same id as the user the statistics belong to
+    @Id
+    private String userId;
+
+    private long totalEntries;
+
+    private LocalDateTime firstEntryDate;
+
+    private LocalDateTime lastEntryDate;
+
+    // entries per ISO week ("2025-W07") and per month ("2025-02")
+    private Map<String, Long> weeklyCounts = new HashMap<>();
+
+    private Map<String, Long> monthlyCounts = new HashMap<>();
+
+    // goes up with every change, so a recount only replaces the statistics it was started from
+    private long revision;
+
+    public static String weekKey(LocalDateTime date) {
+        return String.format("%d-W%02d", date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    public static String monthKey(LocalDateTime date) {
+        return YearMonth.from(date).toString();
+    }
+}
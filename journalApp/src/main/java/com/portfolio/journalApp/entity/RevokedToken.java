@@ -0,0 +1,31 @@
+package com.portfolio.journalApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+
+    // jti of the revoked token
+    @Id
+    private String id;
+
+    // MongoDB's TTL monitor removes the document once the token would have expired anyway
+    @Indexed(expireAfter = "0s")
+    private LocalDateTime expiresAt;
+
+    // when the revoking instance stored it, for other instances polling for new revocations
+    @Indexed
+    private LocalDateTime revokedAt;
+}
@@ -1,6 +1,6 @@
 package com.portfolio.journalApp.entity;
 
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 import org.springframework.data.annotation.Id;
@@ -37,10 +37,22 @@ public class User {
 
     private List<String> roles;
 
-    //creating reference of journalEntry in users collection
-    @DBRef
-    @JsonManagedReference
-    private ArrayList<JournalEntry> entries = new ArrayList<>();
+    // bumped whenever outstanding self-contained tokens must stop working (e.g. password change)
+    @JsonIgnore
+    private int tokenVersion;
+
+    // bumped by every create, update and delete of the user's entries; the ETag of their journal reads
+    @JsonIgnore
+    private long journalVersion;
+
+    @JsonIgnore
+    private LocalDateTime journalModifiedDate;
+
+    // references to the user's entries, resolved lazily: with one query on first access, never by
+    // reading the user or writing it as JSON
+    @DBRef(lazy = true)
+    @JsonIgnore
+    private List<JournalEntry> entries = new ArrayList<>();
 
     // Constructor for backward compatibility
     public User(String id, String username, String password, List<String> roles, ArrayList<JournalEntry> entries) {
@@ -0,0 +1,10 @@
+package com.portfolio.journalApp.exceptions;
+
+// unchecked, so it can be thrown from an upload stream and still reach the caller as itself
+public class ContentTooLargeException extends RuntimeException{
+
+    public ContentTooLargeException(String message){
+        super(message);
+
+    }
+}
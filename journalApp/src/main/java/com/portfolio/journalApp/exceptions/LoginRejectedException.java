@@ -0,0 +1,9 @@
+package com.portfolio.journalApp.exceptions;
+
+public class LoginRejectedException extends Exception{
+
+    public LoginRejectedException(String message){
+        super(message);
+
+    }
+}
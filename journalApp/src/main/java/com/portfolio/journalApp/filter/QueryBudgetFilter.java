@@ -0,0 +1,89 @@
+package com.portfolio.journalApp.filter;
+
+import com.portfolio.journalApp.metrics.MongoQueryCount;
+import com.portfolio.journalApp.metrics.MongoQueryTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the MongoDB commands, documents and reply bytes of each request, records them per endpoint
+ * ("mongodb.request.*") and logs requests that go over the query budget, naming the command they
+ * repeated most, which is usually a reference resolved once per document (N+1). Runs before the
+ * security filters so the token's user lookup is counted as well.
+ */
+@Component
+@Profile("!reactive")
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final int maxCommands;
+    private final long maxDocuments;
+
+    public QueryBudgetFilter(MeterRegistry registry,
+                             @Value("${app.mongo.query-budget.max-commands:10}") int maxCommands,
+                             @Value("${app.mongo.query-budget.max-documents:1000}") long maxDocuments) {
+        this.registry = registry;
+        this.maxCommands = maxCommands;
+        this.maxDocuments = maxDocuments;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        MongoQueryCount queries = MongoQueryTracker.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            queries.close();
+            record(request, queries);
+        }
+    }
+
+    private void record(HttpServletRequest request, MongoQueryCount queries) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summary("mongodb.request.commands", "commands", request, uri).record(queries.getCommands());
+        summary("mongodb.request.documents", "documents", request, uri).record(queries.getDocuments());
+        summary("mongodb.request.bytes", "bytes", request, uri).record(queries.getBytes());
+
+        if (queries.getCommands() > maxCommands || queries.getDocuments() > maxDocuments) {
+            String mostRepeated = queries.getMostRepeated();
+            log.warn("{} {} went over the query budget: {} MongoDB commands (budget {}), {} documents (budget {}), {} bytes; "
+                            + "most repeated: {} x {}",
+                    request.getMethod(), uri, queries.getCommands(), maxCommands, queries.getDocuments(), maxDocuments,
+                    queries.getBytes(), queries.getRepeats().get(mostRepeated), mostRepeated);
+            Counter.builder("mongodb.request.over.budget")
+                    .description("Requests that issued more MongoDB commands or read more documents than the budget")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    private DistributionSummary summary(String name, String unit, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description("MongoDB " + unit + " per request")
+                .baseUnit(unit)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry);
+    }
+}
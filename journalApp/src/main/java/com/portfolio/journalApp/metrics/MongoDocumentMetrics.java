@@ -0,0 +1,109 @@
+package com.portfolio.journalApp.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how many documents each MongoDB command returned or wrote, per command and collection, as
+ * the "mongodb.driver.documents" summary. Command latency per collection is already recorded by
+ * Spring Boot's own listener as "mongodb.driver.commands".
+ */
+public class MongoDocumentMetrics implements CommandListener {
+
+    // commands whose first field names the collection; getMore names it in its "collection" field
+    private static final Set<String> COLLECTION_COMMANDS = Set.of("find", "aggregate", "insert", "update", "delete",
+            "findAndModify", "count", "distinct", "countDocuments");
+
+    private final MeterRegistry registry;
+    // collection of each command in flight, by request id, since replies don't name it
+    private final ConcurrentMap<Integer, String> collections = new ConcurrentHashMap<>();
+
+    public MongoDocumentMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String collection = collectionOf(event.getCommandName(), event.getCommand());
+        if (collection != null) {
+            collections.put(event.getRequestId(), collection);
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = collections.remove(event.getRequestId());
+        if (collection == null) {
+            return;
+        }
+        long documents = documentCount(event.getCommandName(), event.getResponse());
+        if (documents >= 0) {
+            DistributionSummary.builder("mongodb.driver.documents")
+                    .description("Documents returned by a read or written by a write command")
+                    .baseUnit("documents")
+                    .tag("command", event.getCommandName())
+                    .tag("collection", collection)
+                    .register(registry)
+                    .record(documents);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        collections.remove(event.getRequestId());
+    }
+
+    /**
+     * @return the collection a command runs against, or null for commands that aren't about one
+     *         collection (or whose body was redacted)
+     */
+    public static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue collection = null;
+        if (COLLECTION_COMMANDS.contains(commandName)) {
+            collection = command.get(commandName);
+        } else if ("getMore".equals(commandName)) {
+            collection = command.get("collection");
+        }
+        return collection != null && collection.isString() ? collection.asString().getValue() : null;
+    }
+
+    /**
+     * Documents in the batch a cursor command returned, or the number a write command inserted,
+     * matched or deleted.
+     *
+     * @return the count, or -1 for commands that report neither
+     */
+    public static long documentCount(String commandName, BsonDocument response) {
+        switch (commandName) {
+            case "find", "aggregate", "getMore" -> {
+                BsonDocument cursor = response.getDocument("cursor", null);
+                if (cursor == null) {
+                    return -1;
+                }
+                String batch = "getMore".equals(commandName) ? "nextBatch" : "firstBatch";
+                return cursor.containsKey(batch) ? cursor.getArray(batch).size() : -1;
+            }
+            case "insert", "update", "delete" -> {
+                BsonValue n = response.get("n");
+                return n != null && n.isNumber() ? n.asNumber().longValue() : -1;
+            }
+            case "findAndModify" -> {
+                BsonValue value = response.get("value");
+                return value != null && value.isDocument() ? 1 : 0;
+            }
+            default -> {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.portfolio.journalApp.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MongoDB commands, documents and reply bytes counted for one request (or any other stretch of
+ * work on one thread) by {@link MongoQueryTracker}. Counts nested inside another are added to both.
+ * Closing it ends the counting and restores the count that was open before.
+ */
+public class MongoQueryCount implements AutoCloseable {
+
+    private final MongoQueryCount outer;
+    private int commands;
+    private long documents;
+    private long bytes;
+    // commands per "command collection", to spot the same query repeated once per referenced document
+    private final Map<String, Integer> repeats = new HashMap<>();
+
+    MongoQueryCount(MongoQueryCount outer) {
+        this.outer = outer;
+    }
+
+    void command(String commandName, String collection) {
+        commands++;
+        repeats.merge(collection != null ? commandName + " " + collection : commandName, 1, Integer::sum);
+        if (outer != null) {
+            outer.command(commandName, collection);
+        }
+    }
+
+    void reply(long documentCount, long sizeInBytes) {
+        documents += Math.max(documentCount, 0);
+        bytes += Math.max(sizeInBytes, 0);
+        if (outer != null) {
+            outer.reply(documentCount, sizeInBytes);
+        }
+    }
+
+    public int getCommands() {
+        return commands;
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public Map<String, Integer> getRepeats() {
+        return Map.copyOf(repeats);
+    }
+
+    /**
+     * @return the command and collection issued most often, e.g. "find journal_entries", or null if none was issued
+     */
+    public String getMostRepeated() {
+        return repeats.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    @Override
+    public void close() {
+        MongoQueryTracker.end(this);
+    }
+
+    MongoQueryCount getOuter() {
+        return outer;
+    }
+
+    @Override
+    public String toString() {
+        return commands + " commands, " + documents + " documents, " + bytes + " bytes " + repeats;
+    }
+}
@@ -0,0 +1,70 @@
+package com.portfolio.journalApp.metrics;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+/**
+ * Adds every MongoDB command to the {@link MongoQueryCount} open on the current thread, if any. The
+ * blocking driver reports a command on the thread that issued it, so a count opened around a request
+ * sees the request's queries. Work handed to other threads (streamed exports, the reactive driver)
+ * isn't counted.
+ */
+public class MongoQueryTracker implements CommandListener {
+
+    private static final ThreadLocal<MongoQueryCount> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Starts counting the commands issued by this thread, until the returned count is closed.
+     */
+    public static MongoQueryCount start() {
+        MongoQueryCount count = new MongoQueryCount(CURRENT.get());
+        CURRENT.set(count);
+        return count;
+    }
+
+    static void end(MongoQueryCount count) {
+        if (CURRENT.get() == count) {
+            if (count.getOuter() != null) {
+                CURRENT.set(count.getOuter());
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        MongoQueryCount count = CURRENT.get();
+        if (count != null) {
+            count.command(event.getCommandName(), MongoDocumentMetrics.collectionOf(event.getCommandName(), event.getCommand()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        MongoQueryCount count = CURRENT.get();
+        if (count != null) {
+            count.reply(MongoDocumentMetrics.documentCount(event.getCommandName(), event.getResponse()),
+                    sizeInBytes(event.getResponse()));
+        }
+    }
+
+    // replies from the server are still binary, and a BSON document starts with its length
+    static long sizeInBytes(BsonDocument document) {
+        if (document instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        try (BsonReader reader = document.asBsonReader()) {
+            if (reader instanceof BsonBinaryReader binary) {
+                return binary.getBsonInput().readInt32();
+            }
+        }
+        return new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer().remaining();
+    }
+}
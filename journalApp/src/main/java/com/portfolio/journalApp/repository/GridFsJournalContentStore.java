@@ -0,0 +1,115 @@
+package com.portfolio.journalApp.repository;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+/**
+ * Entry content in the GridFS bucket set by spring.data.mongodb.gridfs.bucket. Uploads are split into
+ * chunks as they are read, and a read only fetches the chunks from its starting offset on.
+ */
+@Repository
+@Profile("!in-memory")
+public class GridFsJournalContentStore implements JournalContentStore {
+
+    private static final String FILENAME = "journal-entry-content";
+    private static final String CONTENT_TYPE = "text/plain; charset=UTF-8";
+
+    private final GridFsTemplate gridFsTemplate;
+    private final MongoDatabaseFactory databaseFactory;
+    private final String bucket;
+
+    public GridFsJournalContentStore(GridFsTemplate gridFsTemplate, MongoDatabaseFactory databaseFactory,
+                                     @Value("${spring.data.mongodb.gridfs.bucket:fs}") String bucket) {
+        this.gridFsTemplate = gridFsTemplate;
+        this.databaseFactory = databaseFactory;
+        this.bucket = bucket;
+    }
+
+    /**
+     * Uploads through a stream of our own rather than GridFsTemplate#store: the driver only aborts an
+     * upload on an IOException, so anything else thrown while reading (a body over the size limit) would
+     * leave the chunks written so far behind. Here every failure aborts, which deletes them.
+     */
+    @Override
+    public String store(ObjectId ownerId, InputStream content) {
+        GridFSBucket gridFs = GridFSBuckets.create(databaseFactory.getMongoDatabase(), bucket);
+        GridFSUploadOptions options = new GridFSUploadOptions()
+                .metadata(new Document("ownerId", ownerId).append("_contentType", CONTENT_TYPE));
+        GridFSUploadStream upload = gridFs.openUploadStream(FILENAME, options);
+        try {
+            content.transferTo(upload);
+            upload.close();
+        } catch (IOException e) {
+            upload.abort();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException | Error e) {
+            upload.abort();
+            throw e;
+        }
+        return upload.getObjectId().toHexString();
+    }
+
+    @Override
+    public Resource open(String fileId) {
+        GridFSFile file = gridFsTemplate.findOne(Query.query(Criteria.where("_id").is(new ObjectId(fileId))));
+        return file != null ? new GridFsFileResource(file) : null;
+    }
+
+    @Override
+    public void delete(Collection<String> fileIds) {
+        if (fileIds.isEmpty()) {
+            return;
+        }
+        gridFsTemplate.delete(Query.query(Criteria.where("_id").in(fileIds.stream().map(ObjectId::new).toList())));
+    }
+
+    // GridFsResource can only be read once; this opens a new download stream per read, as a request
+    // for several ranges reads the file once per range
+    private class GridFsFileResource extends AbstractResource {
+
+        private final GridFSFile file;
+
+        GridFsFileResource(GridFSFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return gridFsTemplate.getResource(file).getInputStream();
+        }
+
+        @Override
+        public long contentLength() {
+            return file.getLength();
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getDescription() {
+            return "GridFS file [" + file.getObjectId().toHexString() + "]";
+        }
+    }
+}
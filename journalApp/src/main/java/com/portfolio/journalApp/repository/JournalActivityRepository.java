@@ -0,0 +1,13 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.entity.JournalActivity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface JournalActivityRepository extends MongoRepository<JournalActivity, String>, JournalActivityRepositoryCustom {
+
+    List<JournalActivity> findAllByUserId(String userId);
+
+    void deleteAllByUserId(String userId);
+}
@@ -0,0 +1,18 @@
+package com.portfolio.journalApp.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+// Bit-level updates of a user's activity bitmaps; implemented in JournalActivityRepositoryCustomImpl
+public interface JournalActivityRepositoryCustom {
+
+    /**
+     * Sets the bits of the given days with $bit or, creating the year documents as needed.
+     */
+    void markDays(String userId, Collection<LocalDate> days);
+
+    /**
+     * Clears the bits of the given days with $bit and.
+     */
+    void clearDays(String userId, Collection<LocalDate> days);
+}
@@ -0,0 +1,70 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.entity.JournalActivity;
+import com.portfolio.journalApp.utils.ActivityCalendar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class JournalActivityRepositoryCustomImpl implements JournalActivityRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void markDays(String userId, Collection<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JournalActivity.class);
+        masksByYear(days).forEach((year, masks) -> {
+            Update update = new Update().setOnInsert("userId", userId).setOnInsert("year", year);
+            for (int word = 0; word < masks.length; word++) {
+                if (masks[word] != 0) {
+                    update.bitwise(JournalActivity.wordField(word)).or(masks[word]);
+                }
+            }
+            bulk.upsert(byId(userId, year), update);
+        });
+        bulk.execute();
+    }
+
+    @Override
+    public void clearDays(String userId, Collection<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JournalActivity.class);
+        masksByYear(days).forEach((year, masks) -> {
+            Update update = new Update();
+            for (int word = 0; word < masks.length; word++) {
+                if (masks[word] != 0) {
+                    update.bitwise(JournalActivity.wordField(word)).and(~masks[word]);
+                }
+            }
+            bulk.updateOne(byId(userId, year), update);
+        });
+        bulk.execute();
+    }
+
+    private Map<Integer, long[]> masksByYear(Collection<LocalDate> days) {
+        Map<Integer, long[]> masks = new TreeMap<>();
+        for (LocalDate day : days) {
+            masks.computeIfAbsent(day.getYear(), year -> new long[ActivityCalendar.WORDS_PER_YEAR])
+                    [ActivityCalendar.wordIndex(day)] |= ActivityCalendar.bitMask(day);
+        }
+        return masks;
+    }
+
+    private Query byId(String userId, int year) {
+        return Query.query(Criteria.where("_id").is(JournalActivity.id(userId, year)));
+    }
+}
@@ -0,0 +1,29 @@
+package com.portfolio.journalApp.repository;
+
+import org.bson.types.ObjectId;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.util.Collection;
+
+/**
+ * Content of large journal entries, kept out of the journal_entries documents. It is written from a
+ * stream and read back as a resource of known length, so neither direction needs the whole content
+ * in memory and reads can start at any offset.
+ */
+public interface JournalContentStore {
+
+    /**
+     * Stores everything read from {@code content} as a new file of the given owner.
+     *
+     * @return the id of the new file
+     */
+    String store(ObjectId ownerId, InputStream content);
+
+    /**
+     * @return the file's content, or null if there is no such file
+     */
+    Resource open(String fileId);
+
+    void delete(Collection<String> fileIds);
+}
@@ -1,10 +1,88 @@
 package com.portfolio.journalApp.repository;
 
 import com.portfolio.journalApp.entity.JournalEntry;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface JournalRepository extends MongoRepository<JournalEntry, String> {
+public interface JournalRepository extends MongoRepository<JournalEntry, String>, JournalRepositoryCustom {
+
+    // Owner scoped reads below are served by the {user.$id, createdDate, _id} index on JournalEntry.
+    // The user reference is projected out of list results: the caller already knows the owner and
+    // resolving the DBRef would load the whole User document (and all of its entries) per row.
+
+    @Query(value = "{ 'user.$id': ?0 }", fields = "{ 'user': 0 }")
+    List<JournalEntry> findAllByOwner(ObjectId ownerId, Sort sort);
+
+    @Query(value = "{ 'user.$id': ?0 }", fields = "{ 'user': 0 }")
+    Page<JournalEntry> findAllByOwner(ObjectId ownerId, Pageable pageable);
+
+    // Keyset (seek) pagination: callers pass an unsorted page of the wanted size and get a Slice back,
+    // so no count is issued and the cost of a page doesn't depend on how deep the client has scrolled.
+
+    @Query(value = "{ 'user.$id': ?0 }", fields = "{ 'user': 0 }")
+    Slice<JournalEntry> findSliceByOwner(ObjectId ownerId, Pageable pageable);
+
+    @Query(value = "{ 'user.$id': ?0, $or: [ { 'createdDate': { $gt: ?1 } }, { 'createdDate': ?1, '_id': { $gt: ?2 } } ] }",
+            fields = "{ 'user': 0 }")
+    Slice<JournalEntry> findSliceByOwnerAfter(ObjectId ownerId, LocalDateTime createdDate, ObjectId id, Pageable pageable);
+
+    // entries without a createdDate sort below every date: last when walking down from a dated entry
+    @Query(value = "{ 'user.$id': ?0, $or: [ { 'createdDate': { $lt: ?1 } }, { 'createdDate': ?1, '_id': { $lt: ?2 } }, { 'createdDate': null } ] }",
+            fields = "{ 'user': 0 }")
+    Slice<JournalEntry> findSliceByOwnerBefore(ObjectId ownerId, LocalDateTime createdDate, ObjectId id, Pageable pageable);
+
+    // continue from an entry without a createdDate: the remaining undated entries by id, then every dated one
+    @Query(value = "{ 'user.$id': ?0, $or: [ { 'createdDate': null, '_id': { $gt: ?1 } }, { 'createdDate': { $ne: null } } ] }",
+            fields = "{ 'user': 0 }")
+    Slice<JournalEntry> findSliceByOwnerAfterUndated(ObjectId ownerId, ObjectId id, Pageable pageable);
+
+    @Query(value = "{ 'user.$id': ?0, 'createdDate': null, '_id': { $lt: ?1 } }", fields = "{ 'user': 0 }")
+    Slice<JournalEntry> findSliceByOwnerBeforeUndated(ObjectId ownerId, ObjectId id, Pageable pageable);
+
+    @Query(value = "{ 'user.$id': ?0, 'createdDate': { $gte: ?1, $lte: ?2 } }", fields = "{ 'user': 0 }")
+    List<JournalEntry> findAllByOwnerAndCreatedDateBetween(ObjectId ownerId, LocalDateTime startDate,
+                                                           LocalDateTime endDate, Sort sort);
+
+    @Query(value = "{ 'user.$id': ?0, 'createdDate': { $gt: ?1 } }", fields = "{ 'user': 0 }")
+    List<JournalEntry> findAllByOwnerAndCreatedDateAfter(ObjectId ownerId, LocalDateTime since, Sort sort);
+
+    // Backed by a server cursor fetched in batches; the caller must close the stream
+    @Meta(cursorBatchSize = 500)
+    @Query(value = "{ 'user.$id': ?0 }", fields = "{ 'user': 0 }")
+    Stream<JournalEntry> streamAllByOwner(ObjectId ownerId, Sort sort);
+
+    // creation dates only, for rebuilding the owner's statistics
+    @Meta(cursorBatchSize = 1000)
+    @Query(value = "{ 'user.$id': ?0 }", fields = "{ 'createdDate': 1 }")
+    Stream<JournalEntry> streamCreatedDatesByOwner(ObjectId ownerId);
+
+    @Query(value = "{ 'user.$id': ?0, 'createdDate': { $gte: ?1, $lt: ?2 } }", exists = true)
+    boolean existsByOwnerAndCreatedDateInRange(ObjectId ownerId, LocalDateTime from, LocalDateTime until);
+
+    @Query("{ '_id': ?0, 'user.$id': ?1 }")
+    Optional<JournalEntry> findByIdAndOwner(String id, ObjectId ownerId);
+
+    // returns the removed entry (without its user), or null if the owner has no such entry
+    @Query(value = "{ '_id': ?0, 'user.$id': ?1 }", fields = "{ 'user': 0 }", delete = true)
+    JournalEntry deleteByIdAndOwner(String id, ObjectId ownerId);
+
+    // ids, creation dates, versions and content files only, to check which of the given entries belong to the owner
+    @Query(value = "{ '_id': { $in: ?1 }, 'user.$id': ?0 }",
+            fields = "{ '_id': 1, 'createdDate': 1, 'version': 1, 'contentFileId': 1 }")
+    List<JournalEntry> findIdsByOwnerAndIdIn(ObjectId ownerId, Collection<ObjectId> ids);
+
+    @Query(value = "{ 'user.$id': ?0 }", count = true)
+    long countByOwner(ObjectId ownerId);
 }
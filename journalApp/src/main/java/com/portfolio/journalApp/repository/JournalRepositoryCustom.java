@@ -0,0 +1,52 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.dto.JournalBatchOperationDTO;
+import com.portfolio.journalApp.dto.UserJournalEntryDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Queries that can't be expressed as @Query strings; implemented on MongoTemplate in JournalRepositoryCustomImpl
+public interface JournalRepositoryCustom {
+
+    /**
+     * Full-text search over title and content of one user's entries, best matches first. Content kept
+     * in the content store isn't part of the text index: those entries only match by title.
+     */
+    Page<JournalEntry> searchByOwner(ObjectId ownerId, String text, Pageable pageable);
+
+    /**
+     * Entries of the given owners grouped per owner, in the order of {@code usernames}, oldest entry
+     * first. Each owner's entries are read when the stream reaches that owner. Owners without entries
+     * are left out. Close the stream.
+     *
+     * @param usernames owner id to username, used to label the groups
+     */
+    Stream<UserJournalEntryDTO> streamEntriesGroupedByOwner(Map<ObjectId, String> usernames);
+
+    /**
+     * Applies the operations to the owner's entries as one unordered bulk write. Creates are inserted
+     * under the id they carry with the given creation date; updates and deletes only match entries of the owner,
+     * and updates bump the entry's version and take the same date as last modified. Operations the
+     * server rejected are returned with their error, keyed by position in {@code operations}.
+     */
+    Map<Integer, String> bulkWriteForOwner(ObjectId ownerId, List<JournalBatchOperationDTO> operations,
+                                           LocalDateTime createdDate);
+
+    /**
+     * Changes the owner's entry only while it is still at {@code expectedVersion}, in one atomic step.
+     * A non-null title of {@code changes} replaces the title. A content file replaces the content, else
+     * non-null content replaces the content file, else the content is left alone. The version goes up
+     * by one and lastModifiedDate is taken from {@code changes}.
+     *
+     * @return the entry as it was before the change (id, version and content file only), or null if
+     * the owner has no such entry or it has been changed since it was read at that version
+     */
+    JournalEntry updateIfVersion(ObjectId ownerId, String id, long expectedVersion, JournalEntry changes);
+}
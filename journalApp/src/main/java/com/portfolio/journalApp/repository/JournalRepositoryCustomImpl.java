@@ -0,0 +1,175 @@
+package com.portfolio.journalApp.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.portfolio.journalApp.dto.JournalBatchOperationDTO;
+import com.portfolio.journalApp.dto.JournalEntryDTO;
+import com.portfolio.journalApp.dto.UserJournalEntryDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class JournalRepositoryCustomImpl implements JournalRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<JournalEntry> searchByOwner(ObjectId ownerId, String text, Pageable pageable) {
+        // user.$id equality is the prefix of the owner_text index, so only this user's postings are scanned
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .addCriteria(Criteria.where("user.$id").is(ownerId))
+                .with(pageable);
+        query.fields().exclude("user");
+
+        List<JournalEntry> content = mongoTemplate.find(query, JournalEntry.class);
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(Query.of(query).skip(-1).limit(-1), JournalEntry.class));
+    }
+
+    @Override
+    public Stream<UserJournalEntryDTO> streamEntriesGroupedByOwner(Map<ObjectId, String> usernames) {
+        // one index-ordered cursor per owner, read as the stream gets to that owner: no server-side
+        // $group document that could outgrow the 16MB limit, and no operator newer than MongoDB 4.x
+        MongoConverter converter = mongoTemplate.getConverter();
+        String collection = mongoTemplate.getCollectionName(JournalEntry.class);
+        return usernames.entrySet().stream()
+                .map(owner -> {
+                    Query query = Query.query(Criteria.where("user.$id").is(owner.getKey()))
+                            .with(Sort.by("createdDate", "_id"))
+                            .cursorBatchSize(500);
+                    query.fields().include("title", "content", "createdDate", "contentLength").exclude("_id");
+                    try (Stream<Document> entries = mongoTemplate.stream(query, Document.class, collection)) {
+                        return toUserJournalEntries(owner.getValue(), entries::iterator, converter);
+                    }
+                })
+                .filter(dto -> !dto.getJournalEntries().isEmpty());
+    }
+
+    // one owner's entry documents, oldest first, mapped to the admin DTO
+    public static UserJournalEntryDTO toUserJournalEntries(String username, Iterable<Document> entries,
+                                                           MongoConverter converter) {
+        UserJournalEntryDTO dto = new UserJournalEntryDTO();
+        dto.setUsername(username);
+        for (Document journalEntry : entries) {
+            dto.getJournalEntries().add(converter.read(JournalEntryDTO.class, journalEntry));
+        }
+        return dto;
+    }
+
+    @Override
+    public Map<Integer, String> bulkWriteForOwner(ObjectId ownerId, List<JournalBatchOperationDTO> operations,
+                                                  LocalDateTime createdDate) {
+        if (operations.isEmpty()) {
+            return Map.of();
+        }
+        User owner = new User();
+        owner.setId(ownerId.toHexString());
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JournalEntry.class);
+        for (JournalBatchOperationDTO operation : operations) {
+            switch (operation.getType()) {
+                case CREATE -> {
+                    JournalEntry entry = new JournalEntry();
+                    entry.setId(operation.getId());
+                    entry.setTitle(operation.getTitle());
+                    entry.setContent(operation.getContentFileId() == null ? operation.getContent() : null);
+                    entry.setContentFileId(operation.getContentFileId());
+                    entry.setContentLength(operation.getContentLength());
+                    entry.setCreatedDate(createdDate);
+                    entry.setVersion(1);
+                    entry.setLastModifiedDate(createdDate);
+                    entry.setUser(owner);
+                    bulk.insert(entry);
+                }
+                case UPDATE -> {
+                    Update update = new Update();
+                    if (operation.getTitle() != null && !operation.getTitle().isBlank()) {
+                        update.set("title", operation.getTitle());
+                    }
+                    if (operation.getContentFileId() != null) {
+                        update.unset("content")
+                                .set("contentFileId", operation.getContentFileId())
+                                .set("contentLength", operation.getContentLength());
+                    } else if (operation.getContent() != null && !operation.getContent().isEmpty()) {
+                        update.set("content", operation.getContent()).unset("contentFileId").unset("contentLength");
+                    }
+                    update.inc("version", 1).set("lastModifiedDate", createdDate);
+                    bulk.updateOne(ownedEntry(ownerId, operation.getId()), update);
+                }
+                case DELETE -> bulk.remove(ownedEntry(ownerId, operation.getId()));
+            }
+        }
+
+        try {
+            bulk.execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            // unordered: everything that isn't listed here was applied
+            Map<Integer, String> errors = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+            return errors;
+        }
+    }
+
+    @Override
+    public JournalEntry updateIfVersion(ObjectId ownerId, String id, long expectedVersion, JournalEntry changes) {
+        // returns the document as it was, so the caller knows which content file it replaced
+        return mongoTemplate.findAndModify(versionedEntry(ownerId, id, expectedVersion), changesOf(changes),
+                FindAndModifyOptions.options().returnNew(false), JournalEntry.class);
+    }
+
+    // the owner's entry while still at expectedVersion, projected to what updateIfVersion returns
+    static Query versionedEntry(ObjectId ownerId, String id, long expectedVersion) {
+        // entries stored before versions existed have none, which reads as 0
+        Criteria version = expectedVersion == 0
+                ? Criteria.where("version").in(0L, null)
+                : Criteria.where("version").is(expectedVersion);
+        Query query = ownedEntry(ownerId, id).addCriteria(version);
+        query.fields().include("version", "contentFileId");
+        return query;
+    }
+
+    static Update changesOf(JournalEntry changes) {
+        Update update = new Update();
+        if (changes.getTitle() != null) {
+            update.set("title", changes.getTitle());
+        }
+        if (changes.getContentFileId() != null) {
+            update.unset("content")
+                    .set("contentFileId", changes.getContentFileId())
+                    .set("contentLength", changes.getContentLength());
+        } else if (changes.getContent() != null) {
+            update.set("content", changes.getContent()).unset("contentFileId").unset("contentLength");
+        }
+        return update.inc("version", 1).set("lastModifiedDate", changes.getLastModifiedDate());
+    }
+
+    private static Query ownedEntry(ObjectId ownerId, String entryId) {
+        return Query.query(Criteria.where("_id").is(new ObjectId(entryId)).and("user.$id").is(ownerId));
+    }
+}
@@ -0,0 +1,7 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.entity.JournalStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface JournalStatsRepository extends MongoRepository<JournalStats, String>, JournalStatsRepositoryCustom {
+}
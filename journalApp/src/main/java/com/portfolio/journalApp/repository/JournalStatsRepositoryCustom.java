@@ -0,0 +1,28 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.entity.JournalStats;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// Atomic in-place changes to a user's statistics; implemented in JournalStatsRepositoryCustomImpl
+public interface JournalStatsRepositoryCustom {
+
+    /**
+     * Counts entries created (delta 1) or deleted (delta -1) at the given dates with a single $inc,
+     * widening the first/last entry dates with $min/$max on creation.
+     *
+     * @return the statistics after the change, or null if the user has none yet
+     */
+    JournalStats recordEntries(String userId, Collection<LocalDateTime> createdDates, int delta);
+
+    void updateEntryDates(String userId, LocalDateTime firstEntryDate, LocalDateTime lastEntryDate);
+
+    /**
+     * Stores a recount of the user's statistics, unless they were changed since {@code expectedRevision}
+     * was read (null when there were none). The stored revision is one above the expected one.
+     *
+     * @return false if they were changed meanwhile, which makes the recount stale
+     */
+    boolean replaceIfUnchanged(JournalStats stats, Long expectedRevision);
+}
@@ -0,0 +1,79 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.entity.JournalStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+@RequiredArgsConstructor
+public class JournalStatsRepositoryCustomImpl implements JournalStatsRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public JournalStats recordEntries(String userId, Collection<LocalDateTime> createdDates, int delta) {
+        if (createdDates.isEmpty()) {
+            return null;
+        }
+        Update update = new Update().inc("totalEntries", (long) delta * createdDates.size()).inc("revision", 1);
+        // entries from before createdDate was set still count towards the total
+        List<LocalDateTime> dates = createdDates.stream().filter(Objects::nonNull).toList();
+        Map<String, Long> weeks = new TreeMap<>();
+        Map<String, Long> months = new TreeMap<>();
+        for (LocalDateTime createdDate : dates) {
+            weeks.merge(JournalStats.weekKey(createdDate), (long) delta, Long::sum);
+            months.merge(JournalStats.monthKey(createdDate), (long) delta, Long::sum);
+        }
+        weeks.forEach((week, count) -> update.inc("weeklyCounts." + week, count));
+        months.forEach((month, count) -> update.inc("monthlyCounts." + month, count));
+        if (delta > 0 && !dates.isEmpty()) {
+            update.min("firstEntryDate", Collections.min(dates));
+            update.max("lastEntryDate", Collections.max(dates));
+        }
+        // no upsert: a missing document means the user's history was never counted and needs a rebuild
+        return mongoTemplate.findAndModify(byId(userId), update, FindAndModifyOptions.options().returnNew(true),
+                JournalStats.class);
+    }
+
+    @Override
+    public void updateEntryDates(String userId, LocalDateTime firstEntryDate, LocalDateTime lastEntryDate) {
+        mongoTemplate.updateFirst(byId(userId),
+                new Update().set("firstEntryDate", firstEntryDate).set("lastEntryDate", lastEntryDate).inc("revision", 1),
+                JournalStats.class);
+    }
+
+    @Override
+    public boolean replaceIfUnchanged(JournalStats stats, Long expectedRevision) {
+        if (expectedRevision == null) {
+            stats.setRevision(0);
+            try {
+                mongoTemplate.insert(stats);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+        // statistics stored before revisions existed have none, which reads as 0
+        Criteria revision = expectedRevision == 0
+                ? Criteria.where("revision").in(0L, null)
+                : Criteria.where("revision").is(expectedRevision);
+        stats.setRevision(expectedRevision + 1);
+        return mongoTemplate.replace(byId(stats.getUserId()).addCriteria(revision), stats).getMatchedCount() == 1;
+    }
+
+    private Query byId(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+}
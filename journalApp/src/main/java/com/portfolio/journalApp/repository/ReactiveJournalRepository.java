@@ -0,0 +1,54 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.entity.JournalEntry;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of {@link JournalRepository} for the "reactive" profile. Same queries,
+ * same indexes; results are emitted as the driver pulls batches, so a slow client slows the cursor
+ * down instead of having the whole result buffered for it.
+ */
+public interface ReactiveJournalRepository extends ReactiveMongoRepository<JournalEntry, String>,
+        ReactiveJournalRepositoryCustom {
+
+    @Meta(cursorBatchSize = 500)
+    @Query(value = "{ 'user.$id': ?0 }", fields = "{ 'user': 0 }")
+    Flux<JournalEntry> findAllByOwner(ObjectId ownerId, Sort sort);
+
+    @Query(value = "{ 'user.$id': ?0 }", fields = "{ 'user': 0 }")
+    Flux<JournalEntry> findAllByOwner(ObjectId ownerId, Pageable pageable);
+
+    @Query(value = "{ 'user.$id': ?0, $or: [ { 'createdDate': { $gt: ?1 } }, { 'createdDate': ?1, '_id': { $gt: ?2 } } ] }",
+            fields = "{ 'user': 0 }")
+    Flux<JournalEntry> findAllByOwnerAfter(ObjectId ownerId, LocalDateTime createdDate, ObjectId id, Pageable pageable);
+
+    @Query(value = "{ 'user.$id': ?0, $or: [ { 'createdDate': { $lt: ?1 } }, { 'createdDate': ?1, '_id': { $lt: ?2 } }, { 'createdDate': null } ] }",
+            fields = "{ 'user': 0 }")
+    Flux<JournalEntry> findAllByOwnerBefore(ObjectId ownerId, LocalDateTime createdDate, ObjectId id, Pageable pageable);
+
+    @Query(value = "{ 'user.$id': ?0, $or: [ { 'createdDate': null, '_id': { $gt: ?1 } }, { 'createdDate': { $ne: null } } ] }",
+            fields = "{ 'user': 0 }")
+    Flux<JournalEntry> findAllByOwnerAfterUndated(ObjectId ownerId, ObjectId id, Pageable pageable);
+
+    @Query(value = "{ 'user.$id': ?0, 'createdDate': null, '_id': { $lt: ?1 } }", fields = "{ 'user': 0 }")
+    Flux<JournalEntry> findAllByOwnerBeforeUndated(ObjectId ownerId, ObjectId id, Pageable pageable);
+
+    @Query(value = "{ 'user.$id': ?0, 'createdDate': { $gte: ?1, $lte: ?2 } }", fields = "{ 'user': 0 }")
+    Flux<JournalEntry> findAllByOwnerAndCreatedDateBetween(ObjectId ownerId, LocalDateTime startDate,
+                                                           LocalDateTime endDate, Sort sort);
+
+    @Query("{ '_id': ?0, 'user.$id': ?1 }")
+    Mono<JournalEntry> findByIdAndOwner(String id, ObjectId ownerId);
+
+    @Query(value = "{ 'user.$id': ?0 }", count = true)
+    Mono<Long> countByOwner(ObjectId ownerId);
+}
@@ -0,0 +1,19 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.entity.JournalEntry;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveJournalRepositoryCustom {
+
+    // text search within one user's entries, best matches first
+    Flux<JournalEntry> searchByOwner(ObjectId ownerId, String text, Pageable pageable);
+
+    /**
+     * Same as {@link JournalRepositoryCustom#updateIfVersion}: empty when the entry is not at
+     * {@code expectedVersion} (or not the owner's), else the entry as it was before the change.
+     */
+    Mono<JournalEntry> updateIfVersion(ObjectId ownerId, String id, long expectedVersion, JournalEntry changes);
+}
@@ -0,0 +1,37 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.entity.JournalEntry;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveJournalRepositoryCustomImpl implements ReactiveJournalRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<JournalEntry> searchByOwner(ObjectId ownerId, String text, Pageable pageable) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .addCriteria(Criteria.where("user.$id").is(ownerId))
+                .with(pageable);
+        query.fields().exclude("user");
+        return mongoTemplate.find(query, JournalEntry.class);
+    }
+
+    @Override
+    public Mono<JournalEntry> updateIfVersion(ObjectId ownerId, String id, long expectedVersion, JournalEntry changes) {
+        return mongoTemplate.findAndModify(JournalRepositoryCustomImpl.versionedEntry(ownerId, id, expectedVersion),
+                JournalRepositoryCustomImpl.changesOf(changes), FindAndModifyOptions.options().returnNew(false),
+                JournalEntry.class);
+    }
+}
@@ -0,0 +1,13 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.entity.User;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String>, ReactiveUserRepositoryCustom {
+
+    // Read-only view without the DBRef'd entries, see UserRepository#findWithoutEntriesByUsername
+    @Query(value = "{ 'username': ?0 }", fields = "{ 'entries': 0 }")
+    Mono<User> findWithoutEntriesByUsername(String username);
+}
@@ -0,0 +1,14 @@
+package com.portfolio.journalApp.repository;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepositoryCustom {
+
+    // Adds/removes one entry reference in place, without reading or rewriting the rest of the user
+    Mono<Boolean> pushEntryRef(String userId, String entryId);
+
+    Mono<Boolean> pullEntryRef(String userId, String entryId);
+
+    // see UserRepositoryCustom#touchJournal; the two above bump the journal version too
+    Mono<Boolean> touchJournal(String userId);
+}
@@ -0,0 +1,46 @@
+package com.portfolio.journalApp.repository;
+
+import com.mongodb.DBRef;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveUserRepositoryCustomImpl implements ReactiveUserRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Boolean> pushEntryRef(String userId, String entryId) {
+        return mongoTemplate.updateFirst(byId(userId), UserRepositoryCustomImpl.journalChanged(
+                        new Update().push("entries", entryRef(entryId))), User.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    @Override
+    public Mono<Boolean> pullEntryRef(String userId, String entryId) {
+        return mongoTemplate.updateFirst(byId(userId), UserRepositoryCustomImpl.journalChanged(
+                        new Update().pull("entries", entryRef(entryId))), User.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    @Override
+    public Mono<Boolean> touchJournal(String userId) {
+        return mongoTemplate.updateFirst(byId(userId), UserRepositoryCustomImpl.journalChanged(new Update()), User.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+
+    private Query byId(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+
+    private DBRef entryRef(String entryId) {
+        return new DBRef(mongoTemplate.getCollectionName(JournalEntry.class), new ObjectId(entryId));
+    }
+}
@@ -0,0 +1,19 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.entity.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+
+    // the TTL monitor runs about once a minute, so expired documents may still be around
+    @Query(value = "{ 'expiresAt': { $gt: ?0 } }", fields = "{ '_id': 1 }")
+    Stream<RevokedToken> streamAllByExpiresAtAfter(LocalDateTime now);
+
+    @Query(value = "{ 'revokedAt': { $gte: ?0 } }", fields = "{ '_id': 1 }")
+    List<RevokedToken> findAllRevokedSince(LocalDateTime since);
+}
@@ -1,11 +1,33 @@
 package com.portfolio.journalApp.repository;
 
 import com.portfolio.journalApp.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
-public interface UserRepository extends MongoRepository<User, String> {
+import java.util.List;
+
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     User findByUsername(String username);
 
+    // Read-only view without the DBRef'd entries, for lookups that only need the user's id or roles.
+    // Never save() the result, it would overwrite the stored entries with an empty list.
+    @Query(value = "{ 'username': ?0 }", fields = "{ 'entries': 0 }")
+    User findWithoutEntriesByUsername(String username);
+
+    // just what's needed to check a self-contained token against the current user
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'username': 1, 'tokenVersion': 1 }")
+    User findTokenStateById(String id);
+
+    // ids and usernames only, so none of the users' entries are resolved
+    @Query(value = "{}", fields = "{ 'username': 1 }")
+    Slice<User> findAllUsernames(Pageable pageable);
+
+    // keyset page of the above: the users after the given id, in id order
+    @Query(value = "{ '_id': { $gt: ?0 } }", fields = "{ 'username': 1 }")
+    List<User> findUsernamesAfter(String afterId, Pageable pageable);
+
     void deleteByUsername(String existingUser);
 }
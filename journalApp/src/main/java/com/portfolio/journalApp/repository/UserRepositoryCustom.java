@@ -0,0 +1,55 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.dto.AdminUserDTO;
+import com.portfolio.journalApp.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// Targeted updates that don't read or rewrite the whole User document; implemented in UserRepositoryCustomImpl
+public interface UserRepositoryCustom {
+
+    /**
+     * Moves each user's lastLoginDate forward to the given time in a single unordered bulk write.
+     *
+     * @param lastLogins user id to login time
+     */
+    void updateLastLoginDates(Map<String, LocalDateTime> lastLogins);
+
+    /**
+     * Appends references to the given entries to the user's entries list with a single $push, which
+     * also bumps the journal version.
+     */
+    void pushEntryRefs(String userId, Collection<String> entryIds);
+
+    /**
+     * Removes the references to the given entries from the user's entries list with a single $pullAll,
+     * which also bumps the journal version.
+     */
+    void pullEntryRefs(String userId, Collection<String> entryIds);
+
+    /**
+     * Bumps the journal version after entries were changed in place.
+     */
+    void touchJournal(String userId);
+
+    /**
+     * Sets the given profile fields (and bumps tokenVersion when asked) in place. The entries list is
+     * left alone, so entry references pushed or pulled concurrently are never overwritten.
+     *
+     * @return the updated user without its entries, or null if the user doesn't exist
+     */
+    User updateProfile(String userId, Map<String, Object> changes, boolean bumpTokenVersion);
+
+    /**
+     * Users in username order, projected to the admin listing's fields on the server, so no entry
+     * reference is ever resolved. Walks the unique username index: {@code prefix} narrows it to one
+     * range and {@code afterUsername} (exclusive) continues from the previous page; both may be null.
+     */
+    List<AdminUserDTO> findAdminUsers(String prefix, String afterUsername, int limit);
+
+    // counted on the username index alone
+    long countByUsernamePrefix(String prefix);
+}
@@ -0,0 +1,127 @@
+package com.portfolio.journalApp.repository;
+
+import com.mongodb.DBRef;
+import com.portfolio.journalApp.dto.AdminUserDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void updateLastLoginDates(Map<String, LocalDateTime> lastLogins) {
+        if (lastLogins.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        for (Map.Entry<String, LocalDateTime> lastLogin : lastLogins.entrySet()) {
+            // $max rather than $set: flushes from several instances may arrive out of order
+            bulk.updateOne(Query.query(Criteria.where("_id").is(lastLogin.getKey())),
+                    new Update().max("lastLoginDate", lastLogin.getValue()));
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public void pushEntryRefs(String userId, Collection<String> entryIds) {
+        if (entryIds.isEmpty()) {
+            return;
+        }
+        Update update = new Update();
+        update.push("entries").each(entryRefs(entryIds));
+        mongoTemplate.updateFirst(byId(userId), journalChanged(update), User.class);
+    }
+
+    @Override
+    public void pullEntryRefs(String userId, Collection<String> entryIds) {
+        if (entryIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateFirst(byId(userId), journalChanged(new Update().pullAll("entries", entryRefs(entryIds))),
+                User.class);
+    }
+
+    @Override
+    public void touchJournal(String userId) {
+        mongoTemplate.updateFirst(byId(userId), journalChanged(new Update()), User.class);
+    }
+
+    // $max so that, like the version, the modified date never goes back when writes land out of order
+    static Update journalChanged(Update update) {
+        return update.inc("journalVersion", 1).max("journalModifiedDate", LocalDateTime.now());
+    }
+
+    @Override
+    public User updateProfile(String userId, Map<String, Object> changes, boolean bumpTokenVersion) {
+        Update update = new Update();
+        changes.forEach(update::set);
+        if (bumpTokenVersion) {
+            update.inc("tokenVersion", 1);
+        }
+        Query query = byId(userId);
+        query.fields().exclude("entries");
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), User.class);
+    }
+
+    @Override
+    public List<AdminUserDTO> findAdminUsers(String prefix, String afterUsername, int limit) {
+        Criteria username = usernamePrefix(prefix);
+        if (afterUsername != null) {
+            username.gt(afterUsername);
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(username),
+                Aggregation.sort(Sort.Direction.ASC, "username"),
+                Aggregation.limit(limit),
+                Aggregation.project("username", "email", "roles", "createdDate", "lastLoginDate")
+                        .and(ArrayOperators.Size.lengthOfArray(
+                                ConditionalOperators.ifNull("entries").then(List.of()))).as("entryCount"));
+        return mongoTemplate.aggregate(aggregation, User.class, AdminUserDTO.class).getMappedResults();
+    }
+
+    @Override
+    public long countByUsernamePrefix(String prefix) {
+        return mongoTemplate.count(Query.query(usernamePrefix(prefix)), User.class);
+    }
+
+    // a range rather than a regex, so the index bounds are exact: [prefix, prefix with its last char bumped)
+    static Criteria usernamePrefix(String prefix) {
+        String start = prefix != null ? prefix : "";
+        Criteria username = Criteria.where("username").gte(start); // every username is >= ""
+        if (!start.isEmpty() && start.charAt(start.length() - 1) != Character.MAX_VALUE) {
+            username.lt(start.substring(0, start.length() - 1) + (char) (start.charAt(start.length() - 1) + 1));
+        }
+        return username;
+    }
+
+    private Query byId(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+
+    // DBRefs are built by hand: the update mapper would write a referenced JournalEntry as a plain { _id } document
+    private Object[] entryRefs(Collection<String> entryIds) {
+        String collection = mongoTemplate.getCollectionName(JournalEntry.class);
+        return entryIds.stream()
+                .map(entryId -> new DBRef(collection, new ObjectId(entryId)))
+                .toArray();
+    }
+}
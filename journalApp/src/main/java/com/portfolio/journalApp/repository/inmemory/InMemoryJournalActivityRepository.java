@@ -0,0 +1,79 @@
+package com.portfolio.journalApp.repository.inmemory;
+
+import com.portfolio.journalApp.entity.JournalActivity;
+import com.portfolio.journalApp.repository.JournalActivityRepository;
+import com.portfolio.journalApp.utils.ActivityCalendar;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class InMemoryJournalActivityRepository extends InMemoryRepository<JournalActivity> implements JournalActivityRepository {
+
+    @Override
+    protected String getId(JournalActivity activity) {
+        return activity.getId();
+    }
+
+    @Override
+    protected void setId(JournalActivity activity, String id) {
+        activity.setId(id);
+    }
+
+    @Override
+    protected JournalActivity copy(JournalActivity activity) {
+        return JournalActivity.of(activity.getUserId(), activity.getYear(), activity.words());
+    }
+
+    @Override
+    public List<JournalActivity> findAllByUserId(String userId) {
+        return documents.values().stream()
+                .filter(activity -> activity.getUserId().equals(userId))
+                .map(this::copy)
+                .toList();
+    }
+
+    @Override
+    public synchronized void deleteAllByUserId(String userId) {
+        deleteAll(findAllByUserId(userId));
+    }
+
+    @Override
+    public synchronized void markDays(String userId, Collection<LocalDate> days) {
+        masksByYear(days).forEach((year, masks) -> {
+            String id = JournalActivity.id(userId, year);
+            if (!existsById(id)) {
+                save(JournalActivity.of(userId, year, new long[ActivityCalendar.WORDS_PER_YEAR]));
+            }
+            update(id, activity -> {
+                long[] words = activity.words();
+                for (int word = 0; word < words.length; word++) {
+                    words[word] |= masks[word];
+                }
+                return JournalActivity.of(userId, year, words);
+            });
+        });
+    }
+
+    @Override
+    public void clearDays(String userId, Collection<LocalDate> days) {
+        masksByYear(days).forEach((year, masks) -> update(JournalActivity.id(userId, year), activity -> {
+            long[] words = activity.words();
+            for (int word = 0; word < words.length; word++) {
+                words[word] &= ~masks[word];
+            }
+            return JournalActivity.of(userId, year, words);
+        }));
+    }
+
+    private Map<Integer, long[]> masksByYear(Collection<LocalDate> days) {
+        Map<Integer, long[]> masks = new TreeMap<>();
+        for (LocalDate day : days) {
+            masks.computeIfAbsent(day.getYear(), year -> new long[ActivityCalendar.WORDS_PER_YEAR])
+                    [ActivityCalendar.wordIndex(day)] |= ActivityCalendar.bitMask(day);
+        }
+        return masks;
+    }
+}
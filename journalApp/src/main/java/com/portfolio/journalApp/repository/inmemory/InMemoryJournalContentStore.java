@@ -0,0 +1,40 @@
+package com.portfolio.journalApp.repository.inmemory;
+
+import com.portfolio.journalApp.repository.JournalContentStore;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class InMemoryJournalContentStore implements JournalContentStore {
+
+    private final ConcurrentMap<String, byte[]> files = new ConcurrentHashMap<>();
+
+    @Override
+    public String store(ObjectId ownerId, InputStream content) {
+        try {
+            String fileId = new ObjectId().toHexString();
+            files.put(fileId, content.readAllBytes());
+            return fileId;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Resource open(String fileId) {
+        byte[] content = files.get(fileId);
+        return content != null ? new ByteArrayResource(content) : null;
+    }
+
+    @Override
+    public void delete(Collection<String> fileIds) {
+        fileIds.forEach(files::remove);
+    }
+}
@@ -0,0 +1,395 @@
+package com.portfolio.journalApp.repository.inmemory;
+
+import com.portfolio.journalApp.dto.JournalBatchOperationDTO;
+import com.portfolio.journalApp.dto.JournalEntryDTO;
+import com.portfolio.journalApp.dto.UserJournalEntryDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.repository.JournalRepository;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Journal entries in memory. Each owner's entries are also kept ordered by (createdDate, id), like the
+ * owner_createdDate index, so pages and ranges are read off that order instead of sorting per query.
+ * Search matches any of the query's words in title or content, ranked by how often they occur.
+ */
+public class InMemoryJournalRepository extends InMemoryRepository<JournalEntry> implements JournalRepository {
+
+    private final ConcurrentMap<ObjectId, ConcurrentSkipListMap<EntryKey, JournalEntry>> byOwner = new ConcurrentHashMap<>();
+
+    // lower-cased words of title and content per entry id, split once when stored rather than per search
+    private final ConcurrentMap<String, String[]> words = new ConcurrentHashMap<>();
+
+    private record EntryKey(LocalDateTime createdDate, String id) implements Comparable<EntryKey> {
+
+        private static final Comparator<EntryKey> ORDER = Comparator
+                .comparing(EntryKey::createdDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(EntryKey::id);
+
+        static EntryKey of(JournalEntry entry) {
+            return new EntryKey(entry.getCreatedDate(), entry.getId());
+        }
+
+        @Override
+        public int compareTo(EntryKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    // ObjectId hex strings sort like the ids themselves; these bound every id of a given createdDate
+    private static final String LOWEST_ID = "";
+    private static final String HIGHEST_ID = "\uffff";
+
+    @Override
+    protected String getId(JournalEntry entry) {
+        return entry.getId();
+    }
+
+    @Override
+    protected void setId(JournalEntry entry, String id) {
+        entry.setId(id);
+    }
+
+    @Override
+    protected JournalEntry copy(JournalEntry entry) {
+        JournalEntry copy = new JournalEntry();
+        copy.setId(entry.getId());
+        copy.setTitle(entry.getTitle());
+        copy.setContent(entry.getContent());
+        copy.setContentFileId(entry.getContentFileId());
+        copy.setContentLength(entry.getContentLength());
+        copy.setCreatedDate(entry.getCreatedDate());
+        copy.setVersion(entry.getVersion());
+        copy.setLastModifiedDate(entry.getLastModifiedDate());
+        copy.setUser(ownerRef(entry.getUser()));
+        return copy;
+    }
+
+    // only the owner's id is kept, as in the stored DBRef
+    private static User ownerRef(User user) {
+        if (user == null) {
+            return null;
+        }
+        User ref = new User();
+        ref.setId(user.getId());
+        return ref;
+    }
+
+    @Override
+    protected void stored(JournalEntry previous, JournalEntry current) {
+        if (previous != null) {
+            removed(previous);
+        }
+        // content kept in the content store isn't searchable, as it is outside the text index
+        words.put(current.getId(), wordsOf(current.getTitle() + " " + Objects.toString(current.getContent(), "")));
+        ObjectId owner = ownerOf(current);
+        if (owner != null) {
+            byOwner.computeIfAbsent(owner, id -> new ConcurrentSkipListMap<>()).put(EntryKey.of(current), current);
+        }
+    }
+
+    @Override
+    protected void removed(JournalEntry entry) {
+        words.remove(entry.getId());
+        ObjectId owner = ownerOf(entry);
+        NavigableMap<EntryKey, JournalEntry> journal = owner != null ? byOwner.get(owner) : null;
+        if (journal != null) {
+            journal.remove(EntryKey.of(entry));
+        }
+    }
+
+    private static ObjectId ownerOf(JournalEntry entry) {
+        User user = entry.getUser();
+        return user != null && ObjectId.isValid(user.getId()) ? new ObjectId(user.getId()) : null;
+    }
+
+    private NavigableMap<EntryKey, JournalEntry> journalOf(ObjectId ownerId) {
+        NavigableMap<EntryKey, JournalEntry> journal = byOwner.get(ownerId);
+        return journal != null ? journal : Collections.emptyNavigableMap();
+    }
+
+    // callers sort by createdDate (and id) in one direction, which is the index order or its reverse
+    private static NavigableMap<EntryKey, JournalEntry> ordered(NavigableMap<EntryKey, JournalEntry> entries, Sort sort) {
+        Sort.Order order = sort.getOrderFor("createdDate");
+        return order != null && order.isDescending() ? entries.descendingMap() : entries;
+    }
+
+    private JournalEntry withoutUser(JournalEntry entry) {
+        JournalEntry copy = copy(entry);
+        copy.setUser(null);
+        return copy;
+    }
+
+    private List<JournalEntry> listOf(Collection<JournalEntry> entries) {
+        return entries.stream().map(this::withoutUser).toList();
+    }
+
+    private Page<JournalEntry> page(NavigableMap<EntryKey, JournalEntry> entries, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(listOf(entries.values()));
+        }
+        List<JournalEntry> content = entries.values().stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(this::withoutUser)
+                .toList();
+        return new PageImpl<>(content, pageable, entries.size());
+    }
+
+    private Slice<JournalEntry> slice(NavigableMap<EntryKey, JournalEntry> entries, Pageable pageable) {
+        List<JournalEntry> content = entries.values().stream()
+                .limit(pageable.getPageSize() + 1L)
+                .map(this::withoutUser)
+                .toList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public List<JournalEntry> findAllByOwner(ObjectId ownerId, Sort sort) {
+        return listOf(ordered(journalOf(ownerId), sort).values());
+    }
+
+    @Override
+    public Page<JournalEntry> findAllByOwner(ObjectId ownerId, Pageable pageable) {
+        return page(ordered(journalOf(ownerId), pageable.getSort()), pageable);
+    }
+
+    @Override
+    public Slice<JournalEntry> findSliceByOwner(ObjectId ownerId, Pageable pageable) {
+        return slice(ordered(journalOf(ownerId), pageable.getSort()), pageable);
+    }
+
+    @Override
+    public Slice<JournalEntry> findSliceByOwnerAfter(ObjectId ownerId, LocalDateTime createdDate, ObjectId id, Pageable pageable) {
+        EntryKey position = new EntryKey(createdDate, id.toHexString());
+        return slice(ordered(journalOf(ownerId).tailMap(position, false), pageable.getSort()), pageable);
+    }
+
+    @Override
+    public Slice<JournalEntry> findSliceByOwnerBefore(ObjectId ownerId, LocalDateTime createdDate, ObjectId id, Pageable pageable) {
+        EntryKey position = new EntryKey(createdDate, id.toHexString());
+        return slice(ordered(journalOf(ownerId).headMap(position, false), pageable.getSort()), pageable);
+    }
+
+    // EntryKey already orders a null createdDate first, as MongoDB does
+    @Override
+    public Slice<JournalEntry> findSliceByOwnerAfterUndated(ObjectId ownerId, ObjectId id, Pageable pageable) {
+        return findSliceByOwnerAfter(ownerId, null, id, pageable);
+    }
+
+    @Override
+    public Slice<JournalEntry> findSliceByOwnerBeforeUndated(ObjectId ownerId, ObjectId id, Pageable pageable) {
+        return findSliceByOwnerBefore(ownerId, null, id, pageable);
+    }
+
+    @Override
+    public List<JournalEntry> findAllByOwnerAndCreatedDateBetween(ObjectId ownerId, LocalDateTime startDate,
+                                                                  LocalDateTime endDate, Sort sort) {
+        NavigableMap<EntryKey, JournalEntry> range = journalOf(ownerId).subMap(
+                new EntryKey(startDate, LOWEST_ID), true, new EntryKey(endDate, HIGHEST_ID), true);
+        return listOf(ordered(range, sort).values());
+    }
+
+    @Override
+    public List<JournalEntry> findAllByOwnerAndCreatedDateAfter(ObjectId ownerId, LocalDateTime since, Sort sort) {
+        return listOf(ordered(journalOf(ownerId).tailMap(new EntryKey(since, HIGHEST_ID), false), sort).values());
+    }
+
+    @Override
+    public Stream<JournalEntry> streamAllByOwner(ObjectId ownerId, Sort sort) {
+        return ordered(journalOf(ownerId), sort).values().stream().map(this::withoutUser);
+    }
+
+    @Override
+    public Stream<JournalEntry> streamCreatedDatesByOwner(ObjectId ownerId) {
+        return journalOf(ownerId).values().stream().map(this::idAndCreatedDate);
+    }
+
+    private JournalEntry idAndCreatedDate(JournalEntry entry) {
+        JournalEntry projection = new JournalEntry();
+        projection.setId(entry.getId());
+        projection.setCreatedDate(entry.getCreatedDate());
+        projection.setContentFileId(entry.getContentFileId());
+        projection.setVersion(entry.getVersion());
+        return projection;
+    }
+
+    @Override
+    public boolean existsByOwnerAndCreatedDateInRange(ObjectId ownerId, LocalDateTime from, LocalDateTime until) {
+        return !journalOf(ownerId).subMap(new EntryKey(from, LOWEST_ID), true, new EntryKey(until, LOWEST_ID), false).isEmpty();
+    }
+
+    @Override
+    public Optional<JournalEntry> findByIdAndOwner(String id, ObjectId ownerId) {
+        return findById(id).filter(entry -> ownerId.equals(ownerOf(entry)));
+    }
+
+    @Override
+    public synchronized JournalEntry deleteByIdAndOwner(String id, ObjectId ownerId) {
+        JournalEntry entry = documents.get(id);
+        if (entry == null || !ownerId.equals(ownerOf(entry))) {
+            return null;
+        }
+        deleteById(id);
+        return withoutUser(entry);
+    }
+
+    @Override
+    public List<JournalEntry> findIdsByOwnerAndIdIn(ObjectId ownerId, Collection<ObjectId> ids) {
+        return ids.stream()
+                .map(id -> documents.get(id.toHexString()))
+                .filter(entry -> entry != null && ownerId.equals(ownerOf(entry)))
+                .map(this::idAndCreatedDate)
+                .toList();
+    }
+
+    @Override
+    public long countByOwner(ObjectId ownerId) {
+        return journalOf(ownerId).size();
+    }
+
+    @Override
+    public Page<JournalEntry> searchByOwner(ObjectId ownerId, String text, Pageable pageable) {
+        Set<String> terms = new HashSet<>(Arrays.asList(wordsOf(text)));
+        List<JournalEntry> hits = new ArrayList<>();
+        for (JournalEntry entry : journalOf(ownerId).descendingMap().values()) {
+            int score = 0;
+            for (String word : words.getOrDefault(entry.getId(), new String[0])) {
+                if (terms.contains(word)) {
+                    score++;
+                }
+            }
+            if (score > 0) {
+                JournalEntry hit = withoutUser(entry);
+                hit.setScore((float) score);
+                hits.add(hit);
+            }
+        }
+        hits.sort(Comparator.comparing(JournalEntry::getScore).reversed());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(hits);
+        }
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        return new PageImpl<>(hits.subList(from, to), pageable, hits.size());
+    }
+
+    private static String[] wordsOf(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("\\W+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public Stream<UserJournalEntryDTO> streamEntriesGroupedByOwner(Map<ObjectId, String> usernames) {
+        return new TreeMap<>(usernames).entrySet().stream()
+                .filter(owner -> !journalOf(owner.getKey()).isEmpty())
+                .map(owner -> {
+                    UserJournalEntryDTO dto = new UserJournalEntryDTO();
+                    dto.setUsername(owner.getValue());
+                    for (JournalEntry entry : journalOf(owner.getKey()).values()) {
+                        dto.getJournalEntries().add(new JournalEntryDTO(entry.getTitle(), entry.getContent(),
+                                entry.getCreatedDate(), entry.getContentLength()));
+                    }
+                    return dto;
+                });
+    }
+
+    @Override
+    public synchronized Map<Integer, String> bulkWriteForOwner(ObjectId ownerId, List<JournalBatchOperationDTO> operations,
+                                                               LocalDateTime createdDate) {
+        User owner = new User();
+        owner.setId(ownerId.toHexString());
+        Map<Integer, String> errors = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            JournalBatchOperationDTO operation = operations.get(i);
+            JournalEntry existing = operation.getId() != null ? documents.get(operation.getId()) : null;
+            switch (operation.getType()) {
+                case CREATE -> {
+                    if (existing != null) {
+                        errors.put(i, "E11000 duplicate key error collection: journal_entries index: _id_");
+                        continue;
+                    }
+                    JournalEntry entry = new JournalEntry();
+                    entry.setId(operation.getId());
+                    entry.setTitle(operation.getTitle());
+                    entry.setContent(operation.getContentFileId() == null ? operation.getContent() : null);
+                    entry.setContentFileId(operation.getContentFileId());
+                    entry.setContentLength(operation.getContentLength());
+                    entry.setCreatedDate(createdDate);
+                    entry.setVersion(1);
+                    entry.setLastModifiedDate(createdDate);
+                    entry.setUser(owner);
+                    save(entry);
+                }
+                case UPDATE -> {
+                    if (existing != null && ownerId.equals(ownerOf(existing))) {
+                        update(operation.getId(), entry -> {
+                            if (operation.getTitle() != null && !operation.getTitle().isBlank()) {
+                                entry.setTitle(operation.getTitle());
+                            }
+                            if (operation.getContentFileId() != null) {
+                                entry.setContent(null);
+                                entry.setContentFileId(operation.getContentFileId());
+                                entry.setContentLength(operation.getContentLength());
+                            } else if (operation.getContent() != null && !operation.getContent().isEmpty()) {
+                                entry.setContent(operation.getContent());
+                                entry.setContentFileId(null);
+                                entry.setContentLength(null);
+                            }
+                            entry.setVersion(entry.getVersion() + 1);
+                            entry.setLastModifiedDate(createdDate);
+                            return entry;
+                        });
+                    }
+                }
+                case DELETE -> {
+                    if (existing != null && ownerId.equals(ownerOf(existing))) {
+                        deleteById(operation.getId());
+                    }
+                }
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public synchronized JournalEntry updateIfVersion(ObjectId ownerId, String id, long expectedVersion, JournalEntry changes) {
+        JournalEntry existing = documents.get(id);
+        if (existing == null || !ownerId.equals(ownerOf(existing)) || existing.getVersion() != expectedVersion) {
+            return null;
+        }
+        update(id, entry -> {
+            if (changes.getTitle() != null) {
+                entry.setTitle(changes.getTitle());
+            }
+            if (changes.getContentFileId() != null) {
+                entry.setContent(null);
+                entry.setContentFileId(changes.getContentFileId());
+                entry.setContentLength(changes.getContentLength());
+            } else if (changes.getContent() != null) {
+                entry.setContent(changes.getContent());
+                entry.setContentFileId(null);
+                entry.setContentLength(null);
+            }
+            entry.setVersion(entry.getVersion() + 1);
+            entry.setLastModifiedDate(changes.getLastModifiedDate());
+            return entry;
+        });
+        return idAndCreatedDate(existing);
+    }
+}
@@ -0,0 +1,80 @@
+package com.portfolio.journalApp.repository.inmemory;
+
+import com.portfolio.journalApp.entity.JournalStats;
+import com.portfolio.journalApp.repository.JournalStatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+public class InMemoryJournalStatsRepository extends InMemoryRepository<JournalStats> implements JournalStatsRepository {
+
+    @Override
+    protected String getId(JournalStats stats) {
+        return stats.getUserId();
+    }
+
+    @Override
+    protected void setId(JournalStats stats, String id) {
+        stats.setUserId(id);
+    }
+
+    @Override
+    protected JournalStats copy(JournalStats stats) {
+        return new JournalStats(stats.getUserId(), stats.getTotalEntries(), stats.getFirstEntryDate(),
+                stats.getLastEntryDate(), new HashMap<>(stats.getWeeklyCounts()), new HashMap<>(stats.getMonthlyCounts()),
+                stats.getRevision());
+    }
+
+    @Override
+    public JournalStats recordEntries(String userId, Collection<LocalDateTime> createdDates, int delta) {
+        if (createdDates.isEmpty()) {
+            return null;
+        }
+        List<LocalDateTime> dates = createdDates.stream().filter(Objects::nonNull).toList();
+        JournalStats updated = update(userId, stats -> {
+            stats.setTotalEntries(stats.getTotalEntries() + (long) delta * createdDates.size());
+            stats.setRevision(stats.getRevision() + 1);
+            for (LocalDateTime createdDate : dates) {
+                stats.getWeeklyCounts().merge(JournalStats.weekKey(createdDate), (long) delta, Long::sum);
+                stats.getMonthlyCounts().merge(JournalStats.monthKey(createdDate), (long) delta, Long::sum);
+            }
+            if (delta > 0 && !dates.isEmpty()) {
+                LocalDateTime first = Collections.min(dates);
+                LocalDateTime last = Collections.max(dates);
+                if (stats.getFirstEntryDate() == null || first.isBefore(stats.getFirstEntryDate())) {
+                    stats.setFirstEntryDate(first);
+                }
+                if (stats.getLastEntryDate() == null || last.isAfter(stats.getLastEntryDate())) {
+                    stats.setLastEntryDate(last);
+                }
+            }
+            return stats;
+        });
+        return updated != null ? copy(updated) : null;
+    }
+
+    @Override
+    public void updateEntryDates(String userId, LocalDateTime firstEntryDate, LocalDateTime lastEntryDate) {
+        update(userId, stats -> {
+            stats.setFirstEntryDate(firstEntryDate);
+            stats.setLastEntryDate(lastEntryDate);
+            stats.setRevision(stats.getRevision() + 1);
+            return stats;
+        });
+    }
+
+    @Override
+    public synchronized boolean replaceIfUnchanged(JournalStats stats, Long expectedRevision) {
+        JournalStats existing = documents.get(stats.getUserId());
+        if (expectedRevision == null ? existing != null : existing == null || existing.getRevision() != expectedRevision) {
+            return false;
+        }
+        stats.setRevision(expectedRevision == null ? 0 : expectedRevision + 1);
+        save(stats);
+        return true;
+    }
+}
@@ -0,0 +1,226 @@
+package com.portfolio.journalApp.repository.inmemory;
+
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.StreamSupport;
+
+/**
+ * Map-backed stand-in for a MongoRepository, used by the "in-memory" profile to run the app without
+ * MongoDB. Documents are stored and handed out as copies, so a caller's changes only take effect when
+ * saved, as with a database. Writes are serialized per repository and reads never block.
+ * Query by example is not supported.
+ */
+public abstract class InMemoryRepository<T> implements MongoRepository<T, String> {
+
+    protected final ConcurrentMap<String, T> documents = new ConcurrentHashMap<>();
+
+    protected abstract String getId(T document);
+
+    protected abstract void setId(T document, String id);
+
+    protected abstract T copy(T document);
+
+    // what a find by id or find all hands out for a stored document; a copy unless a subclass resolves references
+    protected T read(T document) {
+        return copy(document);
+    }
+
+    // called under the write lock before a document is stored, to enforce unique indexes
+    protected void checkUnique(T document) {
+    }
+
+    // called under the write lock after a document was stored (previous is null on insert) or removed,
+    // so subclasses can keep their secondary indexes in step
+    protected void stored(T previous, T current) {
+    }
+
+    protected void removed(T document) {
+    }
+
+    @Override
+    public synchronized <S extends T> S save(S entity) {
+        if (getId(entity) == null) {
+            setId(entity, new ObjectId().toHexString());
+        }
+        T stored = copy(entity);
+        checkUnique(stored);
+        stored(documents.put(getId(entity), stored), stored);
+        return entity;
+    }
+
+    @Override
+    public synchronized <S extends T> S insert(S entity) {
+        if (getId(entity) != null && documents.containsKey(getId(entity))) {
+            throw new DuplicateKeyException("E11000 duplicate key error, _id: " + getId(entity));
+        }
+        return save(entity);
+    }
+
+    @Override
+    public synchronized <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        entities.forEach(entity -> inserted.add(insert(entity)));
+        return inserted;
+    }
+
+    @Override
+    public synchronized <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    /**
+     * Replaces the stored document with the result of {@code change}, applied to a copy of it, in one
+     * step like an update operator would.
+     *
+     * @return the stored document after the change, or null if there is no document with this id
+     */
+    protected synchronized T update(String id, UnaryOperator<T> change) {
+        T previous = documents.get(id);
+        if (previous == null) {
+            return null;
+        }
+        T current = change.apply(copy(previous));
+        checkUnique(current);
+        documents.put(id, current);
+        stored(previous, current);
+        return current;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(documents.get(id)).map(this::read);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return documents.values().stream().map(this::read).toList();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(documents::get)
+                .filter(document -> document != null)
+                .map(this::read)
+                .toList();
+    }
+
+    // documents are kept in no particular order, so only id order is offered
+    @Override
+    public List<T> findAll(Sort sort) {
+        return documents.values().stream().sorted(byId(sort)).map(this::read).toList();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<T> all = documents.values().stream().sorted(byId(pageable.getSort())).toList();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all.stream().map(this::read).toList());
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to).stream().map(this::read).toList(), pageable, all.size());
+    }
+
+    private Comparator<T> byId(Sort sort) {
+        Comparator<T> byId = Comparator.comparing(this::getId);
+        for (Sort.Order order : sort) {
+            if (!order.getProperty().equals("id") && !order.getProperty().equals("_id")) {
+                throw new UnsupportedOperationException("Sorting by " + order.getProperty() + " is not supported in memory");
+            }
+            return order.isAscending() ? byId : byId.reversed();
+        }
+        return byId;
+    }
+
+    @Override
+    public long count() {
+        return documents.size();
+    }
+
+    @Override
+    public synchronized void deleteById(String id) {
+        T removed = documents.remove(id);
+        if (removed != null) {
+            removed(removed);
+        }
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(getId(entity));
+    }
+
+    @Override
+    public synchronized void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public synchronized void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public synchronized void deleteAll() {
+        List.copyOf(documents.keySet()).forEach(this::deleteById);
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported in memory");
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported in memory");
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw new UnsupportedOperationException("Query by example is not supported in memory");
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw new UnsupportedOperationException("Query by example is not supported in memory");
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported in memory");
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw new UnsupportedOperationException("Query by example is not supported in memory");
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException("Query by example is not supported in memory");
+    }
+}
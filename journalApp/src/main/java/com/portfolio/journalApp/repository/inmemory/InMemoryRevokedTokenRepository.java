@@ -0,0 +1,41 @@
+package com.portfolio.journalApp.repository.inmemory;
+
+import com.portfolio.journalApp.entity.RevokedToken;
+import com.portfolio.journalApp.repository.RevokedTokenRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class InMemoryRevokedTokenRepository extends InMemoryRepository<RevokedToken> implements RevokedTokenRepository {
+
+    @Override
+    protected String getId(RevokedToken token) {
+        return token.getId();
+    }
+
+    @Override
+    protected void setId(RevokedToken token, String id) {
+        token.setId(id);
+    }
+
+    @Override
+    protected RevokedToken copy(RevokedToken token) {
+        return new RevokedToken(token.getId(), token.getExpiresAt(), token.getRevokedAt());
+    }
+
+    @Override
+    public Stream<RevokedToken> streamAllByExpiresAtAfter(LocalDateTime now) {
+        return documents.values().stream()
+                .filter(token -> token.getExpiresAt().isAfter(now))
+                .map(this::copy);
+    }
+
+    @Override
+    public List<RevokedToken> findAllRevokedSince(LocalDateTime since) {
+        return documents.values().stream()
+                .filter(token -> token.getRevokedAt() != null && !token.getRevokedAt().isBefore(since))
+                .map(this::copy)
+                .toList();
+    }
+}
@@ -0,0 +1,327 @@
+package com.portfolio.journalApp.repository.inmemory;
+
+import com.portfolio.journalApp.dto.AdminUserDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.repository.JournalRepository;
+import com.portfolio.journalApp.repository.UserRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Users in memory, with the unique username index. A user's entries are stored as references and, like
+ * the lazy DBRef, only resolved from the journal repository when the list handed out is first used.
+ */
+public class InMemoryUserRepository extends InMemoryRepository<User> implements UserRepository {
+
+    private final JournalRepository journalRepository;
+    // sorted, like the username index, for the admin listing's prefix ranges
+    private final ConcurrentSkipListMap<String, String> idsByUsername = new ConcurrentSkipListMap<>();
+
+    public InMemoryUserRepository(JournalRepository journalRepository) {
+        this.journalRepository = journalRepository;
+    }
+
+    @Override
+    protected String getId(User user) {
+        return user.getId();
+    }
+
+    @Override
+    protected void setId(User user, String id) {
+        user.setId(id);
+    }
+
+    @Override
+    protected User copy(User user) {
+        User copy = withoutEntries(user);
+        if (user.getEntries() instanceof LazyEntries lazy && !lazy.isResolved()) {
+            // saving a user whose entries were never looked at, as with an unresolved DBRef proxy
+            lazy.ids.forEach(entryId -> copy.getEntries().add(entryRef(entryId)));
+        } else if (user.getEntries() != null) {
+            user.getEntries().forEach(entry -> copy.getEntries().add(entryRef(entry.getId())));
+        }
+        return copy;
+    }
+
+    private static User withoutEntries(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setPassword(user.getPassword());
+        copy.setEmail(user.getEmail());
+        copy.setCreatedDate(user.getCreatedDate());
+        copy.setLastLoginDate(user.getLastLoginDate());
+        copy.setRoles(user.getRoles() != null ? new ArrayList<>(user.getRoles()) : null);
+        copy.setTokenVersion(user.getTokenVersion());
+        copy.setJournalVersion(user.getJournalVersion());
+        copy.setJournalModifiedDate(user.getJournalModifiedDate());
+        return copy;
+    }
+
+    private static JournalEntry entryRef(String entryId) {
+        JournalEntry ref = new JournalEntry();
+        ref.setId(entryId);
+        return ref;
+    }
+
+    @Override
+    protected User read(User user) {
+        User read = withoutEntries(user);
+        List<String> entryIds = user.getEntries().stream().map(JournalEntry::getId).toList();
+        read.setEntries(new LazyEntries(entryIds, journalRepository));
+        return read;
+    }
+
+    private static final class LazyEntries extends AbstractList<JournalEntry> {
+
+        private final List<String> ids;
+        private final JournalRepository journalRepository;
+        private List<JournalEntry> entries;
+
+        LazyEntries(List<String> ids, JournalRepository journalRepository) {
+            this.ids = ids;
+            this.journalRepository = journalRepository;
+        }
+
+        boolean isResolved() {
+            return entries != null;
+        }
+
+        private List<JournalEntry> entries() {
+            if (entries == null) {
+                entries = new ArrayList<>(ids.size());
+                for (String id : ids) {
+                    journalRepository.findById(id).ifPresent(entries::add);
+                }
+            }
+            return entries;
+        }
+
+        @Override
+        public JournalEntry get(int index) {
+            return entries().get(index);
+        }
+
+        @Override
+        public int size() {
+            return entries().size();
+        }
+
+        @Override
+        public JournalEntry set(int index, JournalEntry entry) {
+            return entries().set(index, entry);
+        }
+
+        @Override
+        public void add(int index, JournalEntry entry) {
+            entries().add(index, entry);
+        }
+
+        @Override
+        public JournalEntry remove(int index) {
+            return entries().remove(index);
+        }
+    }
+
+    @Override
+    protected void checkUnique(User user) {
+        String holder = idsByUsername.get(user.getUsername());
+        if (holder != null && !holder.equals(user.getId())) {
+            throw new DuplicateKeyException("E11000 duplicate key error collection: users index: username dup key: "
+                    + user.getUsername());
+        }
+    }
+
+    @Override
+    protected void stored(User previous, User current) {
+        if (previous != null) {
+            removed(previous);
+        }
+        idsByUsername.put(current.getUsername(), current.getId());
+    }
+
+    @Override
+    protected void removed(User user) {
+        idsByUsername.remove(user.getUsername(), user.getId());
+    }
+
+    private User byUsername(String username) {
+        String id = username != null ? idsByUsername.get(username) : null;
+        return id != null ? documents.get(id) : null;
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        User user = byUsername(username);
+        return user != null ? read(user) : null;
+    }
+
+    @Override
+    public User findWithoutEntriesByUsername(String username) {
+        User user = byUsername(username);
+        return user != null ? withoutEntries(user) : null;
+    }
+
+    @Override
+    public User findTokenStateById(String id) {
+        User user = documents.get(id);
+        if (user == null) {
+            return null;
+        }
+        User tokenState = new User();
+        tokenState.setId(user.getId());
+        tokenState.setUsername(user.getUsername());
+        tokenState.setTokenVersion(user.getTokenVersion());
+        return tokenState;
+    }
+
+    @Override
+    public Slice<User> findAllUsernames(Pageable pageable) {
+        List<User> users = documents.values().stream()
+                .sorted(Comparator.comparing(User::getId))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .map(InMemoryUserRepository::idAndUsername)
+                .toList();
+        boolean hasNext = users.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? users.subList(0, pageable.getPageSize()) : users, pageable, hasNext);
+    }
+
+    @Override
+    public List<User> findUsernamesAfter(String afterId, Pageable pageable) {
+        return documents.values().stream()
+                .filter(user -> user.getId().compareTo(afterId) > 0)
+                .sorted(Comparator.comparing(User::getId))
+                .limit(pageable.getPageSize())
+                .map(InMemoryUserRepository::idAndUsername)
+                .toList();
+    }
+
+    private static User idAndUsername(User user) {
+        User username = new User();
+        username.setId(user.getId());
+        username.setUsername(user.getUsername());
+        return username;
+    }
+
+    @Override
+    public synchronized void deleteByUsername(String username) {
+        User user = byUsername(username);
+        if (user != null) {
+            deleteById(user.getId());
+        }
+    }
+
+    @Override
+    public synchronized void updateLastLoginDates(Map<String, LocalDateTime> lastLogins) {
+        lastLogins.forEach((userId, lastLogin) -> update(userId, user -> {
+            if (user.getLastLoginDate() == null || user.getLastLoginDate().isBefore(lastLogin)) {
+                user.setLastLoginDate(lastLogin);
+            }
+            return user;
+        }));
+    }
+
+    @Override
+    public void pushEntryRefs(String userId, Collection<String> entryIds) {
+        if (entryIds.isEmpty()) {
+            return;
+        }
+        update(userId, user -> {
+            entryIds.forEach(entryId -> user.getEntries().add(entryRef(entryId)));
+            return journalChanged(user);
+        });
+    }
+
+    @Override
+    public void pullEntryRefs(String userId, Collection<String> entryIds) {
+        if (entryIds.isEmpty()) {
+            return;
+        }
+        Set<String> pulled = new HashSet<>(entryIds);
+        update(userId, user -> {
+            user.getEntries().removeIf(entry -> pulled.contains(entry.getId()));
+            return journalChanged(user);
+        });
+    }
+
+    @Override
+    public void touchJournal(String userId) {
+        update(userId, InMemoryUserRepository::journalChanged);
+    }
+
+    private static User journalChanged(User user) {
+        user.setJournalVersion(user.getJournalVersion() + 1);
+        LocalDateTime now = LocalDateTime.now();
+        if (user.getJournalModifiedDate() == null || user.getJournalModifiedDate().isBefore(now)) {
+            user.setJournalModifiedDate(now);
+        }
+        return user;
+    }
+
+    @Override
+    public User updateProfile(String userId, Map<String, Object> changes, boolean bumpTokenVersion) {
+        User updated = update(userId, user -> {
+            changes.forEach((field, value) -> {
+                switch (field) {
+                    case "username" -> user.setUsername(Objects.toString(value, null));
+                    case "password" -> user.setPassword(Objects.toString(value, null));
+                    case "email" -> user.setEmail(Objects.toString(value, null));
+                    default -> throw new IllegalArgumentException("Unknown profile field " + field);
+                }
+            });
+            if (bumpTokenVersion) {
+                user.setTokenVersion(user.getTokenVersion() + 1);
+            }
+            return user;
+        });
+        return updated != null ? withoutEntries(updated) : null;
+    }
+
+    @Override
+    public List<AdminUserDTO> findAdminUsers(String prefix, String afterUsername, int limit) {
+        NavigableMap<String, String> range = withPrefix(prefix);
+        if (afterUsername != null) {
+            range = range.tailMap(afterUsername, false);
+        }
+        return range.values().stream()
+                .map(documents::get)
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .map(user -> new AdminUserDTO(user.getId(), user.getUsername(), user.getEmail(),
+                        user.getRoles() != null ? List.copyOf(user.getRoles()) : null, user.getCreatedDate(),
+                        user.getLastLoginDate(), user.getEntries().size()))
+                .toList();
+    }
+
+    @Override
+    public long countByUsernamePrefix(String prefix) {
+        return withPrefix(prefix).size();
+    }
+
+    private NavigableMap<String, String> withPrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return idsByUsername;
+        }
+        char last = prefix.charAt(prefix.length() - 1);
+        return last == Character.MAX_VALUE
+                ? idsByUsername.tailMap(prefix, true)
+                : idsByUsername.subMap(prefix, true, prefix.substring(0, prefix.length() - 1) + (char) (last + 1), false);
+    }
+}
@@ -0,0 +1,56 @@
+package com.portfolio.journalApp.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Atomic loads into an AsyncCache with the loader running on the calling thread. The first miss
+ * installs an incomplete future and loads; concurrent misses wait on that future. No lock is held
+ * during the load, so a slow database read neither blocks other keys nor pins a virtual thread,
+ * and an invalidation made while the load is in flight removes the future: its (possibly stale)
+ * result only reaches the callers already waiting and is never cached.
+ */
+final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    // nothing is cached when the loader returns null or throws
+    static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return join(cached);
+        }
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> existing = cache.asMap().putIfAbsent(key, loading);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            V value = loader.apply(key);
+            if (value == null) {
+                cache.asMap().remove(key, loading);
+            }
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            cache.asMap().remove(key, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
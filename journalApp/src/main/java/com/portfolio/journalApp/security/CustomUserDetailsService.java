@@ -3,23 +3,59 @@ package com.portfolio.journalApp.security;
 import com.portfolio.journalApp.entity.User;
 import com.portfolio.journalApp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
+    // Used for password checks at login, always reads the current user (without resolving journal entries)
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username);
+        User user = userRepository.findWithoutEntriesByUsername(username);
         if(user != null){
             return new CustomUserDetails(user);
         }
         throw new UsernameNotFoundException("User not found for: " + username);
     }
+
+    // Used on every request authenticated by a token, served from PrincipalCache when possible
+    public UserDetails loadAuthenticatedUser(String username) throws UsernameNotFoundException {
+        CustomUserDetails userDetails = principalCache.get(username, userRepository::findWithoutEntriesByUsername);
+        if (userDetails != null) {
+            return userDetails;
+        }
+        throw new UsernameNotFoundException("User not found for: " + username);
+    }
+
+    /**
+     * Builds the principal of a self-contained token from its claims. Only the user's token version is
+     * checked (through TokenVersionRegistry); the username comes from there too, so a renamed user's
+     * tokens keep working.
+     */
+    public UserDetails loadSelfContainedUser(String userId, List<String> roles, int tokenVersion) {
+        TokenVersionRegistry.TokenState state = tokenVersionRegistry.get(userId);
+        if (state == null) {
+            throw new UsernameNotFoundException("User not found for id: " + userId);
+        }
+        if (state.getVersion() != tokenVersion) {
+            throw new BadCredentialsException("Token has been revoked");
+        }
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(state.getUsername());
+        user.setRoles(roles);
+        user.setTokenVersion(tokenVersion);
+        return new CustomUserDetails(user);
+    }
 }
@@ -0,0 +1,50 @@
+package com.portfolio.journalApp.security;
+
+import com.portfolio.journalApp.utils.JWTUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Turns a bearer token into the authenticated principal. Shared by the servlet filter and the
+ * reactive authentication manager so both stacks accept and reject exactly the same tokens.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtPrincipalResolver {
+    private final CustomUserDetailsService userDetailsService;
+    private final JWTUtil jwtUtil;
+    private final TokenDenylist tokenDenylist;
+
+    /**
+     * @throws io.jsonwebtoken.JwtException when the token is malformed, forged or expired
+     * @throws org.springframework.security.core.AuthenticationException when the token was revoked
+     *         or its user no longer matches
+     */
+    @Timed("auth.token.resolve")
+    public UserDetails resolve(String token) {
+        // signature and expiry are checked here, once per request
+        Claims claims = jwtUtil.parseClaims(token);
+        if (claims.getId() != null && tokenDenylist.isRevoked(claims.getId())) {
+            throw new BadCredentialsException("Token has been revoked");
+        }
+        return loadUser(claims);
+    }
+
+    // Self-contained tokens are trusted for id and roles, everything else is resolved by username
+    @SuppressWarnings("unchecked")
+    private UserDetails loadUser(Claims claims) {
+        String userId = claims.get(JWTUtil.USER_ID_CLAIM, String.class);
+        if (userId != null) {
+            List<String> roles = claims.get(JWTUtil.ROLES_CLAIM, List.class);
+            Integer tokenVersion = claims.get(JWTUtil.TOKEN_VERSION_CLAIM, Integer.class);
+            return userDetailsService.loadSelfContainedUser(userId, roles, tokenVersion != null ? tokenVersion : 0);
+        }
+        return userDetailsService.loadAuthenticatedUser(claims.getSubject());
+    }
+}
@@ -0,0 +1,152 @@
+package com.portfolio.journalApp.security;
+
+import com.portfolio.journalApp.exceptions.LoginRejectedException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password checks (BCrypt) on a small fixed pool with a bounded queue, so a burst of logins
+ * can occupy at most that many cores instead of every request thread. When the queue is full, or a
+ * login waits longer than the timeout, the login is rejected straight away rather than piling up.
+ * The pool stays on platform threads in virtual-thread mode too: hashing is CPU bound and this
+ * bound is the point.
+ */
+@Component
+@Slf4j
+public class LoginExecutor implements MeterBinder {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+
+    public LoginExecutor(@Value("${app.login.threads:0}") int threads,
+                         @Value("${app.login.queue-capacity:64}") int queueCapacity,
+                         @Value("${app.login.timeout-ms:5000}") long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Authenticates on the login pool and waits for the result. Authentication failures are rethrown as is.
+     *
+     * @throws LoginRejectedException if the pool is saturated or the login didn't finish in time
+     */
+    @Timed("auth.login")
+    public Authentication authenticate(AuthenticationManager authenticationManager, Authentication request)
+            throws LoginRejectedException {
+        long submitted = System.nanoTime();
+        Future<Authentication> result;
+        try {
+            result = executor.submit(() -> {
+                long started = System.nanoTime();
+                queueWaitNanos.add(started - submitted);
+                try {
+                    return authenticationManager.authenticate(request);
+                } finally {
+                    hashNanos.add(System.nanoTime() - started);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Login rejected, {} logins already queued", executor.getQueue().size());
+            throw new LoginRejectedException("Too many logins in progress, please retry shortly");
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejected.increment();
+            throw new LoginRejectedException("Login timed out, please retry shortly");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginRejectedException("Login interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    // total time logins spent waiting for a pool thread
+    public long getTotalQueueWaitNanos() {
+        return queueWaitNanos.sum();
+    }
+
+    // total time spent inside the authentication manager, i.e. loading the user and hashing
+    public long getTotalHashNanos() {
+        return hashNanos.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.login.queue.depth", this, LoginExecutor::getQueueDepth)
+                .description("Logins waiting for a login pool thread")
+                .register(registry);
+        Gauge.builder("auth.login.active", this, LoginExecutor::getActiveCount)
+                .description("Logins being checked on the login pool")
+                .register(registry);
+        FunctionCounter.builder("auth.login.rejected", this, LoginExecutor::getRejectedCount)
+                .description("Logins turned away because the pool was saturated or they timed out")
+                .register(registry);
+        FunctionTimer.builder("auth.login.queue.wait", this, LoginExecutor::getCompletedCount,
+                        LoginExecutor::getTotalQueueWaitNanos, TimeUnit.NANOSECONDS)
+                .description("Time logins waited for a login pool thread")
+                .register(registry);
+        FunctionTimer.builder("auth.login.check", this, LoginExecutor::getCompletedCount,
+                        LoginExecutor::getTotalHashNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent loading the user and checking the password")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,101 @@
+package com.portfolio.journalApp.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.portfolio.journalApp.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Size and TTL bounded cache of the principals JwtFilter authenticates, keyed by username.
+ * Entries are immutable snapshots of the user's id, name, roles and token version; the password
+ * hash and journal entries are not kept. UserService invalidates a username whenever that user's
+ * credentials, name or roles change, the TTL bounds staleness for anything that bypasses it
+ * (e.g. edits made directly in the database). Hits, misses and size are published as the
+ * "principals" cache metrics.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final AsyncCache<String, CachedPrincipal> cache;
+
+    public PrincipalCache(@Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${app.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Cached principal for the username, loading the user on a miss. Nothing is cached when the loader returns null.
+     * Concurrent misses share one load, and an invalidation during a load is never overwritten, see CacheLoads.
+     */
+    public CustomUserDetails get(String username, Function<String, User> loader) {
+        CachedPrincipal principal = CacheLoads.getOrLoad(cache, username, name -> {
+            User user = loader.apply(name);
+            return user != null ? CachedPrincipal.of(user) : null;
+        });
+        return principal != null ? principal.toUserDetails() : null;
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.synchronous().invalidate(username);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    // hit/miss/load counters since startup
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "principals");
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    static final class CachedPrincipal {
+        private final String id;
+        private final String username;
+        private final List<String> roles;
+        private final int tokenVersion;
+
+        static CachedPrincipal of(User user) {
+            return new CachedPrincipal(user.getId(), user.getUsername(),
+                    user.getRoles() != null ? List.copyOf(user.getRoles()) : List.of(), user.getTokenVersion());
+        }
+
+        // a fresh User per request, so nothing a caller does to it reaches the cache
+        CustomUserDetails toUserDetails() {
+            User user = new User();
+            user.setId(id);
+            user.setUsername(username);
+            user.setRoles(roles);
+            user.setTokenVersion(tokenVersion);
+            return new CustomUserDetails(user);
+        }
+    }
+}
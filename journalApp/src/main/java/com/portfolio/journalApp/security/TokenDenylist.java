@@ -0,0 +1,110 @@
+package com.portfolio.journalApp.security;
+
+import com.portfolio.journalApp.entity.RevokedToken;
+import com.portfolio.journalApp.repository.RevokedTokenRepository;
+import com.portfolio.journalApp.utils.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Revoked token ids (jti), persisted in the revoked_tokens collection until the tokens expire.
+ * Lookups go through an in-memory Bloom filter first, so a token that was never revoked is
+ * accepted without touching the database; only filter hits are confirmed against MongoDB.
+ * Revocations made on other instances are polled for every few seconds and added to the filter;
+ * the filter is rebuilt less often, to drop the ids of expired tokens.
+ */
+@Component
+@Slf4j
+public class TokenDenylist {
+
+    // how far back each poll looks beyond the previous one, for clock differences between instances
+    // and revocations stored while the previous poll ran
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository repository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    // guards swapping the filters against adding to them, see add
+    private final Object filterLock = new Object();
+    private volatile BloomFilter filter;
+    // filter being rebuilt, so revocations made while it loads aren't lost when it is swapped in
+    private BloomFilter next;
+
+    private LocalDateTime lastPoll = LocalDateTime.now();
+
+    public TokenDenylist(RevokedTokenRepository repository,
+                         @Value("${jwt.denylist.expected-insertions:100000}") long expectedInsertions,
+                         @Value("${jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public void revoke(String tokenId, Date expiresAt) {
+        repository.save(new RevokedToken(tokenId,
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()), LocalDateTime.now()));
+        add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        return repository.existsById(tokenId);
+    }
+
+    /**
+     * Adds an id that is already stored. Under the lock it lands in the filter being rebuilt as well,
+     * or, once that was swapped in, in the new filter; and if it was stored before the rebuild began,
+     * the rebuild's own read finds it.
+     */
+    private void add(String tokenId) {
+        synchronized (filterLock) {
+            filter.put(tokenId);
+            if (next != null) {
+                next.put(tokenId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.denylist.poll-interval:PT5S}", initialDelayString = "${jwt.denylist.poll-interval:PT5S}")
+    public synchronized void pollRevocations() {
+        LocalDateTime started = LocalDateTime.now();
+        List<RevokedToken> revoked = repository.findAllRevokedSince(lastPoll.minus(POLL_OVERLAP));
+        revoked.forEach(token -> add(token.getId()));
+        lastPoll = started;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${jwt.denylist.refresh-interval:PT5M}", initialDelayString = "${jwt.denylist.refresh-interval:PT5M}")
+    public synchronized void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveRate);
+        synchronized (filterLock) {
+            next = rebuilt;
+        }
+        long count = 0;
+        try (Stream<RevokedToken> revoked = repository.streamAllByExpiresAtAfter(LocalDateTime.now())) {
+            for (RevokedToken token : (Iterable<RevokedToken>) revoked::iterator) {
+                rebuilt.put(token.getId());
+                count++;
+            }
+        }
+        synchronized (filterLock) {
+            filter = rebuilt;
+            next = null;
+        }
+        log.debug("Token denylist filter rebuilt with {} revoked tokens", count);
+    }
+}
@@ -0,0 +1,56 @@
+package com.portfolio.journalApp.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Current token version and username per user id, consulted for self-contained tokens instead of
+ * loading the user. A token whose version claim doesn't match is treated as revoked. Local changes
+ * are invalidated right away; changes made on other instances are picked up within the TTL.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<String, TokenState> cache;
+
+    public TokenVersionRegistry(UserRepository userRepository,
+                                @Value("${jwt.token-state-cache.max-size:10000}") long maxSize,
+                                @Value("${jwt.token-state-cache.ttl:1m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // null when the user no longer exists; loaded atomically, see CacheLoads
+    public TokenState get(String userId) {
+        return CacheLoads.getOrLoad(cache, userId, id -> {
+            User user = userRepository.findTokenStateById(id);
+            return user != null ? new TokenState(user.getTokenVersion(), user.getUsername()) : null;
+        });
+    }
+
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.synchronous().invalidate(userId);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TokenState {
+        private final int version;
+        private final String username;
+    }
+}
@@ -1,231 +1,265 @@
 package com.portfolio.journalApp.service;
 
-import com.portfolio.journalApp.dto.JournalEntryDTO;
+import com.portfolio.journalApp.dto.AdminJournalPageDTO;
+import com.portfolio.journalApp.dto.CursorPageDTO;
+import com.portfolio.journalApp.dto.JournalBatchOperationDTO;
+import com.portfolio.journalApp.dto.JournalBatchResultDTO;
 import com.portfolio.journalApp.dto.UserJournalEntryDTO;
 import com.portfolio.journalApp.entity.JournalEntry;
 import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.exceptions.ContentTooLargeException;
 import com.portfolio.journalApp.exceptions.ResourceNotFoundException;
+import com.portfolio.journalApp.repository.JournalContentStore;
 import com.portfolio.journalApp.repository.JournalRepository;
 import com.portfolio.journalApp.repository.UserRepository;
+import com.portfolio.journalApp.utils.JournalCursor;
+import com.portfolio.journalApp.utils.JournalVersion;
+import com.portfolio.journalApp.utils.LimitedInputStream;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed("journal.service")
 public class JournalService {
 
+    private static final int MAX_ADMIN_PAGE_SIZE = 200;
+
     private final JournalRepository repository;
     private final UserRepository userRepository;
+    private final JournalStatsService statsService;
+    private final JournalContentStore contentStore;
+
+    @Value("${app.journal.batch.max-operations:500}")
+    private int maxBatchOperations;
+
+    @Value("${app.journal.content.inline-max-size:16KB}")
+    private DataSize inlineContentMaxSize = DataSize.ofKilobytes(16);
+
+    @Value("${app.journal.content.max-size:16MB}")
+    private DataSize contentMaxSize = DataSize.ofMegabytes(16);
 
-    @Transactional
+    // content moved out of an entry into the content store
+    private record StoredContent(String fileId, long length) {
+    }
+
+    /**
+     * Inserts the entry and appends its reference to the owner with a single $push. The user document
+     * is never read in full or rewritten, so parallel creates from several devices can't drop each other.
+     */
     public JournalEntry saveEntry(JournalEntry entry, String username) {
-        User user = userRepository.findByUsername(username);
+        User user = userRepository.findWithoutEntriesByUsername(username);
         if (user == null || user.getId() == null) {
             throw new IllegalArgumentException("User with username " + username + " not found");
         }
         entry.setCreatedDate(LocalDateTime.now());
+        entry.setVersion(1);
+        entry.setLastModifiedDate(entry.getCreatedDate());
         entry.setUser(user);
-        JournalEntry savedEntry = repository.save(entry);
+        StoredContent stored = setContent(entry, new ObjectId(user.getId()), entry.getContent());
+        JournalEntry savedEntry;
+        try {
+            // insert, not save: an id sent by the client must not overwrite an existing entry
+            savedEntry = repository.insert(entry);
+        } catch (RuntimeException e) {
+            deleteContent(stored);
+            throw e;
+        }
 
-        user.getEntries().add(savedEntry);
-        userRepository.save(user);
+        userRepository.pushEntryRefs(user.getId(), List.of(savedEntry.getId()));
+        statsService.entriesCreated(new ObjectId(user.getId()), List.of(savedEntry.getCreatedDate()));
         return savedEntry;
     }
 
     public List<JournalEntry> getAllEntries(String username) {
-        User user = userRepository.findByUsername(username);
-        if (user == null) {
-            return new ArrayList<>();
-        }
-        return user.getEntries();
+        return getAllEntries(username, "asc");
     }
 
     public List<JournalEntry> getAllEntries(String username, String sortOrder) {
-        User user = userRepository.findByUsername(username);
-        if (user == null) {
+        ObjectId ownerId = findOwnerId(username);
+        if (ownerId == null) {
             return new ArrayList<>();
         }
-        
-        List<JournalEntry> entries = new ArrayList<>(user.getEntries());
-        
-        if ("asc".equalsIgnoreCase(sortOrder)) {
-            entries.sort(Comparator.comparing(JournalEntry::getCreatedDate));
-        } else {
-            entries.sort(Comparator.comparing(JournalEntry::getCreatedDate).reversed());
+        return repository.findAllByOwner(ownerId, createdDateSort(sortOrder));
+    }
+
+    /**
+     * All of the user's entries, oldest first, read lazily from a MongoDB cursor. Unlike other reads
+     * this includes the content of large entries, fetched from the content store one entry at a time.
+     * The returned stream holds the cursor open and has to be closed by the caller.
+     */
+    public Stream<JournalEntry> streamAllEntries(String username) {
+        ObjectId ownerId = findOwnerId(username);
+        if (ownerId == null) {
+            return Stream.empty();
         }
-        
-        return entries;
+        return repository.streamAllByOwner(ownerId, createdDateSort("asc")).map(this::withStoredContent);
     }
 
     public Page<JournalEntry> getPaginatedEntries(String username, int page, int size, String sortOrder) {
-        User user = userRepository.findByUsername(username);
-        if (user == null) {
+        ObjectId ownerId = findOwnerId(username);
+        if (ownerId == null) {
             return Page.empty();
         }
 
-        Sort sort = "asc".equalsIgnoreCase(sortOrder) ? 
-            Sort.by("createdDate").ascending() : 
-            Sort.by("createdDate").descending();
+        Pageable pageable = PageRequest.of(page, size, createdDateSort(sortOrder));
+        return repository.findAllByOwner(ownerId, pageable);
+    }
+
+    /**
+     * Keyset pagination over the user's entries. A blank cursor starts from the newest (or oldest)
+     * entry; otherwise the page continues right after the entry the cursor points at, in the
+     * direction the cursor was issued for. Entries without a createdDate come last newest-first and
+     * first oldest-first, ordered by id. The total is only counted when asked for.
+     */
+    public CursorPageDTO<JournalEntry> getEntriesByCursor(String username, String cursor, int size,
+                                                          String sortOrder, boolean includeTotal) {
+        ObjectId ownerId = findOwnerId(username);
+        if (ownerId == null) {
+            return new CursorPageDTO<>();
+        }
+
+        Slice<JournalEntry> slice;
+        Sort.Direction direction;
+        if (cursor == null || cursor.isBlank()) {
+            direction = createdDateSort(sortOrder).getOrderFor("createdDate").getDirection();
+            slice = repository.findSliceByOwner(ownerId, PageRequest.of(0, size, createdDateSort(sortOrder)));
+        } else {
+            JournalCursor position = JournalCursor.decode(cursor);
+            direction = position.getDirection();
+            Pageable pageable = PageRequest.of(0, size, Sort.by(direction, "createdDate", "id"));
+            if (position.getCreatedDate() == null) {
+                slice = direction.isAscending()
+                        ? repository.findSliceByOwnerAfterUndated(ownerId, position.getId(), pageable)
+                        : repository.findSliceByOwnerBeforeUndated(ownerId, position.getId(), pageable);
+            } else {
+                slice = direction.isAscending()
+                        ? repository.findSliceByOwnerAfter(ownerId, position.getCreatedDate(), position.getId(), pageable)
+                        : repository.findSliceByOwnerBefore(ownerId, position.getCreatedDate(), position.getId(), pageable);
+            }
+        }
 
-        Pageable pageable = PageRequest.of(page, size, sort);
-        
-        // For MongoDB, we'll need to implement custom pagination since we're getting entries from user
-        List<JournalEntry> allEntries = getAllEntries(username, sortOrder);
-        
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), allEntries.size());
-        
-        List<JournalEntry> pageContent = start < allEntries.size() ? 
-            allEntries.subList(start, end) : new ArrayList<>();
-            
-        return new org.springframework.data.domain.PageImpl<>(pageContent, pageable, allEntries.size());
+        List<JournalEntry> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? JournalCursor.after(content.get(content.size() - 1), direction).encode()
+                : null;
+        Long total = includeTotal ? repository.countByOwner(ownerId) : null;
+        return new CursorPageDTO<>(content, nextCursor, nextCursor != null, total);
     }
 
     public Optional<JournalEntry> findEntryByIdAndUser(String entryId, String username) {
-        User user = userRepository.findByUsername(username);
-        if (user == null) {
+        ObjectId ownerId = findOwnerId(username);
+        if (ownerId == null) {
             return Optional.empty();
         }
-        
-        return user.getEntries().stream()
-            .filter(entry -> entry.getId().equals(entryId))
-            .findFirst();
+        return repository.findByIdAndOwner(entryId, ownerId);
     }
 
-    public List<JournalEntry> searchEntries(String username, String query) {
-        User user = userRepository.findByUsername(username);
-        if (user == null || query == null || query.trim().isEmpty()) {
-            return new ArrayList<>();
+    public Page<JournalEntry> searchEntries(String username, String query, int page, int size) {
+        if (query == null || query.trim().isEmpty()) {
+            return Page.empty();
         }
-        
-        String lowerQuery = query.toLowerCase();
-        return user.getEntries().stream()
-            .filter(entry -> 
-                (entry.getTitle() != null && entry.getTitle().toLowerCase().contains(lowerQuery)) ||
-                (entry.getContent() != null && entry.getContent().toLowerCase().contains(lowerQuery))
-            )
-            .sorted(Comparator.comparing(JournalEntry::getCreatedDate).reversed())
-            .collect(Collectors.toList());
+        ObjectId ownerId = findOwnerId(username);
+        if (ownerId == null) {
+            return Page.empty();
+        }
+        return repository.searchByOwner(ownerId, query.trim(), PageRequest.of(page, size));
     }
 
     public List<JournalEntry> getEntriesByDateRange(String username, LocalDateTime startDate, LocalDateTime endDate) {
-        User user = userRepository.findByUsername(username);
-        if (user == null) {
+        ObjectId ownerId = findOwnerId(username);
+        if (ownerId == null) {
             return new ArrayList<>();
         }
-        
-        return user.getEntries().stream()
-            .filter(entry -> 
-                entry.getCreatedDate() != null &&
-                !entry.getCreatedDate().isBefore(startDate) &&
-                !entry.getCreatedDate().isAfter(endDate)
-            )
-            .sorted(Comparator.comparing(JournalEntry::getCreatedDate).reversed())
-            .collect(Collectors.toList());
+        return repository.findAllByOwnerAndCreatedDateBetween(ownerId, startDate, endDate, createdDateSort("desc"));
     }
 
     public List<JournalEntry> getEntriesSince(String username, LocalDateTime since) {
-        User user = userRepository.findByUsername(username);
-        if (user == null) {
+        ObjectId ownerId = findOwnerId(username);
+        if (ownerId == null) {
             return new ArrayList<>();
         }
-        
-        return user.getEntries().stream()
-            .filter(entry -> 
-                entry.getCreatedDate() != null &&
-                entry.getCreatedDate().isAfter(since)
-            )
-            .sorted(Comparator.comparing(JournalEntry::getCreatedDate).reversed())
-            .collect(Collectors.toList());
+        return repository.findAllByOwnerAndCreatedDateAfter(ownerId, since, createdDateSort("desc"));
     }
 
-    /*public Map<String, Object> getJournalStats(String username) {
-        User user = userRepository.findByUsername(username);
-        Map<String, Object> stats = new HashMap<>();
-        
-        if (user == null || user.getEntries() == null) {
-            stats.put("totalEntries", 0);
-            stats.put("entriesThisMonth", 0);
-            stats.put("entriesThisWeek", 0);
-            stats.put("averageEntriesPerWeek", 0.0);
-            stats.put("longestStreak", 0);
-            return stats;
+    /**
+     * One page of users (ordered by id) with their entries, one user at a time rather than all loaded
+     * up front. Users without entries are left out, so a page can be empty while later ones are not;
+     * {@code hasNext} tells whether more users follow. The groups are read from MongoDB as they are
+     * consumed and the page has to be closed by the caller.
+     */
+    public AdminJournalPageDTO getAllEntriesForAdmin(int page, int size) {
+        if (size < 1 || size > MAX_ADMIN_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_ADMIN_PAGE_SIZE);
         }
-        
-        List<JournalEntry> entries = user.getEntries();
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime weekAgo = now.minusDays(7);
-        LocalDateTime monthAgo = now.minusDays(30);
-        
-        long totalEntries = entries.size();
-        long entriesThisWeek = entries.stream()
-            .filter(e -> e.getCreatedDate() != null && e.getCreatedDate().isAfter(weekAgo))
-            .count();
-        long entriesThisMonth = entries.stream()
-            .filter(e -> e.getCreatedDate() != null && e.getCreatedDate().isAfter(monthAgo))
-            .count();
-            
-        double averageEntriesPerWeek = totalEntries > 0 ? (double) totalEntries / 4.0 : 0.0; // Rough estimate
-        
-        stats.put("totalEntries", totalEntries);
-        stats.put("entriesThisMonth", entriesThisMonth);
-        stats.put("entriesThisWeek", entriesThisWeek);
-        stats.put("averageEntriesPerWeek", Math.round(averageEntriesPerWeek * 100.0) / 100.0);
-        stats.put("firstEntryDate", entries.stream()
-            .map(JournalEntry::getCreatedDate)
-            .filter(Objects::nonNull)
-            .min(LocalDateTime::compareTo)
-            .orElse(null));
-        stats.put("lastEntryDate", entries.stream()
-            .map(JournalEntry::getCreatedDate)
-            .filter(Objects::nonNull)
-            .max(LocalDateTime::compareTo)
-            .orElse(null));
-            
-        return stats;
-    }*/
-
-    public List<UserJournalEntryDTO> getAllEntriesForAdmin() {
-        List<JournalEntry> all = repository.findAll();
-        Map<String, List<JournalEntry>> userJournalMap = new HashMap<>();
-        for(JournalEntry e: all){
-            userJournalMap
-                    .computeIfAbsent(e.getUser().getUsername(), k -> new ArrayList<>())
-                    .add(e);
-        }
-        List<UserJournalEntryDTO> list = new ArrayList<>();
-        for(Map.Entry<String, List<JournalEntry>> entry: userJournalMap.entrySet()){
-            UserJournalEntryDTO dto = new UserJournalEntryDTO();
-            dto.setUsername(entry.getKey());
-            ArrayList<JournalEntryDTO> dtoList = new ArrayList<>();
-            for(JournalEntry je: entry.getValue()){
-                JournalEntryDTO jeDto = new JournalEntryDTO();
-                jeDto.setCreatedDate(je.getCreatedDate());
-                jeDto.setTitle(je.getTitle());
-                jeDto.setContent(je.getContent());
-                dtoList.add(jeDto);
+        if (page < 0) {
+            throw new IllegalArgumentException("Page cannot be negative");
+        }
+        Slice<User> users = userRepository.findAllUsernames(PageRequest.of(page, size, Sort.by("id")));
+        Map<ObjectId, String> usernames = new LinkedHashMap<>();
+        for (User user : users) {
+            if (ObjectId.isValid(user.getId())) {
+                usernames.put(new ObjectId(user.getId()), user.getUsername());
             }
-            dto.setJournalEntries(dtoList);
-            list.add(dto);
         }
-        return list;
+        Stream<UserJournalEntryDTO> groups = usernames.isEmpty()
+                ? Stream.empty()
+                : repository.streamEntriesGroupedByOwner(usernames);
+        return new AdminJournalPageDTO(groups, users.hasNext());
     }
 
     public Optional<JournalEntry> findEntryById(String id) {
         return repository.findById(id);
     }
 
+    /**
+     * The entry's content as UTF-8 text of known length: its file in the content store when it is kept
+     * there, otherwise the inline content. Null when the file is missing.
+     */
+    public Resource openContent(JournalEntry entry) {
+        if (entry.getContentFileId() != null) {
+            return contentStore.open(entry.getContentFileId());
+        }
+        return new ByteArrayResource(Objects.toString(entry.getContent(), "").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The user's journal version for conditional requests, read without any of their entries. Null
+     * when the user doesn't exist.
+     */
+    public JournalVersion getJournalVersion(String username) {
+        User user = userRepository.findWithoutEntriesByUsername(username);
+        if (user == null || user.getId() == null) {
+            return null;
+        }
+        return new JournalVersion(user.getId(), user.getJournalVersion(), user.getJournalModifiedDate());
+    }
+
     public JournalEntry updateEntry(String entryId, JournalEntry newEntry, String username) throws ResourceNotFoundException {
-        Optional<JournalEntry> entryOpt = findEntryByIdAndUser(entryId, username);
+        ObjectId ownerId = findOwnerId(username);
+        Optional<JournalEntry> entryOpt = ownerId != null ? repository.findByIdAndOwner(entryId, ownerId) : Optional.empty();
         if (entryOpt.isEmpty()) {
             throw new ResourceNotFoundException("Entry not found or access denied");
         }
@@ -233,25 +267,328 @@ public class JournalService {
         JournalEntry existingEntry = entryOpt.get();
         existingEntry.setTitle(newEntry.getTitle() != null && !newEntry.getTitle().isEmpty() ? 
             newEntry.getTitle() : existingEntry.getTitle());
-        existingEntry.setContent(newEntry.getContent() != null && !newEntry.getContent().isEmpty() ? 
-            newEntry.getContent() : existingEntry.getContent());
+        StoredContent stored = null;
+        if (newEntry.getContent() != null && !newEntry.getContent().isEmpty()) {
+            stored = setContent(existingEntry, ownerId, newEntry.getContent());
+        }
+        return saveChanged(existingEntry, ownerId, stored);
+    }
+
+    /**
+     * Replaces the entry's content with {@code body}, read as UTF-8 text. Only up to the inline limit
+     * is buffered; longer content is streamed into the content store as it is read, so an upload is
+     * never held in memory as a whole. {@code declaredLength} is the request's Content-Length, or -1.
+     */
+    public JournalEntry replaceContent(String entryId, String username, InputStream body, long declaredLength)
+            throws ResourceNotFoundException, IOException {
+        if (declaredLength > contentMaxSize.toBytes()) {
+            throw new ContentTooLargeException("Content cannot exceed " + contentMaxSize.toBytes() + " bytes");
+        }
+        ObjectId ownerId = findOwnerId(username);
+        Optional<JournalEntry> entryOpt = ownerId != null ? repository.findByIdAndOwner(entryId, ownerId) : Optional.empty();
+        if (entryOpt.isEmpty()) {
+            throw new ResourceNotFoundException("Entry not found or access denied");
+        }
+
+        JournalEntry entry = entryOpt.get();
+        int inlineMax = (int) inlineContentMaxSize.toBytes();
+        byte[] head = body.readNBytes(inlineMax + 1);
+        StoredContent stored = null;
+        if (head.length <= inlineMax) {
+            entry.setContent(new String(head, StandardCharsets.UTF_8));
+            entry.setContentFileId(null);
+            entry.setContentLength(null);
+        } else {
+            LimitedInputStream content = new LimitedInputStream(
+                    new SequenceInputStream(new ByteArrayInputStream(head), body), contentMaxSize.toBytes());
+            stored = new StoredContent(contentStore.store(ownerId, content), content.getCount());
+            entry.setContent(null);
+            entry.setContentFileId(stored.fileId());
+            entry.setContentLength(stored.length());
+        }
+        return saveChanged(entry, ownerId, stored);
+    }
+
+    /**
+     * Writes the changed entry only if it is still at the version it was read at. Of two requests
+     * changing one entry at once exactly one wins: it deletes the content file its write actually
+     * replaced, and the other gets an OptimisticLockingFailureException after dropping its new file.
+     */
+    private JournalEntry saveChanged(JournalEntry entry, ObjectId ownerId, StoredContent stored) {
+        long readVersion = entry.getVersion();
+        entry.setVersion(readVersion + 1);
+        entry.setLastModifiedDate(LocalDateTime.now());
+        JournalEntry previous;
+        try {
+            previous = repository.updateIfVersion(ownerId, entry.getId(), readVersion, entry);
+        } catch (RuntimeException e) {
+            deleteContent(stored);
+            throw e;
+        }
+        if (previous == null) {
+            deleteContent(stored);
+            throw new OptimisticLockingFailureException("Entry was changed by another request, reload it and try again");
+        }
+        userRepository.touchJournal(ownerId.toHexString());
+        if (replacedFile(previous, entry.getContentFileId()) != null) {
+            contentStore.delete(List.of(previous.getContentFileId()));
+        }
+        return entry;
+    }
+
+    // the content file a write replaced, null if it kept the file or there was none
+    private static String replacedFile(JournalEntry previous, String currentFileId) {
+        String fileId = previous.getContentFileId();
+        return fileId != null && !fileId.equals(currentFileId) ? fileId : null;
+    }
+
+    /**
+     * Sets the entry's content, moving it to the content store when it is above the inline limit so
+     * the entry document stays small. Returns what was stored, or null when the content stays inline.
+     */
+    private StoredContent setContent(JournalEntry entry, ObjectId ownerId, String content) {
+        StoredContent stored = storeIfLarge(ownerId, content);
+        entry.setContent(stored == null ? content : null);
+        entry.setContentFileId(stored != null ? stored.fileId() : null);
+        entry.setContentLength(stored != null ? stored.length() : null);
+        return stored;
+    }
+
+    private StoredContent storeIfLarge(ObjectId ownerId, String content) {
+        long inlineMax = inlineContentMaxSize.toBytes();
+        // a char never takes more than 3 bytes in UTF-8, so short content needs no encoding to decide
+        if (content == null || content.length() * 3L <= inlineMax) {
+            return null;
+        }
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= inlineMax) {
+            return null;
+        }
+        return new StoredContent(contentStore.store(ownerId, new ByteArrayInputStream(bytes)), bytes.length);
+    }
+
+    private void deleteContent(StoredContent stored) {
+        if (stored != null) {
+            contentStore.delete(List.of(stored.fileId()));
+        }
+    }
 
-        return repository.save(existingEntry);
+    private JournalEntry withStoredContent(JournalEntry entry) {
+        if (entry.getContentFileId() == null) {
+            return entry;
+        }
+        Resource content = contentStore.open(entry.getContentFileId());
+        if (content != null) {
+            try (InputStream in = content.getInputStream()) {
+                entry.setContent(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return entry;
     }
 
 
-    @Transactional
+    /**
+     * Applies a client's queued creates, updates and deletes in one go: the operations are checked
+     * together, ownership of the touched entries is verified with one query, and everything valid is
+     * sent as a single unordered bulk write. One result per operation, in request order.
+     */
+    public List<JournalBatchResultDTO> applyBatch(String username, List<JournalBatchOperationDTO> operations) {
+        if (operations.size() > maxBatchOperations) {
+            throw new IllegalArgumentException("A batch can hold at most " + maxBatchOperations + " operations");
+        }
+        ObjectId ownerId = findOwnerId(username);
+        if (ownerId == null) {
+            throw new IllegalArgumentException("User with username " + username + " not found");
+        }
+
+        List<JournalBatchResultDTO> results = new ArrayList<>(operations.size());
+        Set<String> touchedIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            JournalBatchOperationDTO operation = operations.get(i);
+            if (operation == null) {
+                results.add(new JournalBatchResultDTO(i, null, null, false, "Operation is required"));
+                continue;
+            }
+            boolean create = operation.getType() == JournalBatchOperationDTO.Type.CREATE;
+            if (create) {
+                // ids of new entries are never taken from the client, and only assigned to valid ones
+                operation.setId(null);
+            }
+            String error = validateBatchOperation(operation);
+            if (error == null && create) {
+                operation.setId(new ObjectId().toHexString());
+            } else if (error == null && !touchedIds.add(operation.getId())) {
+                // an unordered bulk write gives no guarantee which of two writes to one entry wins
+                error = "Entry appears more than once in the batch";
+            }
+            results.add(new JournalBatchResultDTO(i, operation.getType(), operation.getId(), error == null, error));
+        }
+
+        Map<String, JournalEntry> ownedIds = new HashMap<>();
+        if (!touchedIds.isEmpty()) {
+            List<ObjectId> ids = touchedIds.stream().map(ObjectId::new).toList();
+            for (JournalEntry entry : repository.findIdsByOwnerAndIdIn(ownerId, ids)) {
+                ownedIds.put(entry.getId(), entry);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<JournalBatchOperationDTO> writes = new ArrayList<>();
+        List<JournalBatchResultDTO> writeResults = new ArrayList<>();
+        // content files no entry refers to any more: replaced or deleted ones, and new ones of failed writes
+        List<String> unusedFileIds = new ArrayList<>();
+        boolean updated = false;
+        for (JournalBatchResultDTO result : results) {
+            if (!result.isSuccess()) {
+                continue;
+            }
+            if (result.getType() != JournalBatchOperationDTO.Type.CREATE && !ownedIds.containsKey(result.getId())) {
+                result.setSuccess(false);
+                result.setError("Entry not found or access denied");
+                continue;
+            }
+            JournalBatchOperationDTO operation = operations.get(result.getIndex());
+            if (operation.getType() != JournalBatchOperationDTO.Type.DELETE) {
+                StoredContent stored = storeIfLarge(ownerId, operation.getContent());
+                operation.setContentFileId(stored != null ? stored.fileId() : null);
+                operation.setContentLength(stored != null ? stored.length() : null);
+            }
+            JournalEntry existing = ownedIds.get(result.getId());
+            if (operation.getType() == JournalBatchOperationDTO.Type.UPDATE && (operation.getContentFileId() != null
+                    || existing.getContentFileId() != null && operation.getContent() != null && !operation.getContent().isEmpty())) {
+                // stores or replaces a content file: written on its own and conditionally, as in saveChanged
+                if (updateIfUnchanged(ownerId, existing, operation, now, unusedFileIds)) {
+                    updated = true;
+                } else {
+                    result.setSuccess(false);
+                    result.setError("Entry was changed by another request");
+                }
+                continue;
+            }
+            writes.add(operation);
+            writeResults.add(result);
+        }
+
+        Map<Integer, String> writeErrors = repository.bulkWriteForOwner(ownerId, writes, now);
+        List<String> created = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        List<LocalDateTime> deletedDates = new ArrayList<>();
+        for (int i = 0; i < writeResults.size(); i++) {
+            JournalBatchResultDTO result = writeResults.get(i);
+            JournalBatchOperationDTO write = writes.get(i);
+            JournalEntry existing = ownedIds.get(result.getId());
+            if (writeErrors.containsKey(i)) {
+                result.setSuccess(false);
+                result.setError(writeErrors.get(i));
+                if (write.getContentFileId() != null) {
+                    unusedFileIds.add(write.getContentFileId());
+                }
+                continue;
+            }
+            if (result.getType() == JournalBatchOperationDTO.Type.DELETE && existing.getContentFileId() != null) {
+                unusedFileIds.add(existing.getContentFileId());
+            }
+            if (result.getType() == JournalBatchOperationDTO.Type.CREATE) {
+                created.add(result.getId());
+            } else if (result.getType() == JournalBatchOperationDTO.Type.DELETE) {
+                deleted.add(result.getId());
+                deletedDates.add(existing.getCreatedDate());
+            } else {
+                updated = true;
+            }
+        }
+        contentStore.delete(unusedFileIds);
+        userRepository.pushEntryRefs(ownerId.toHexString(), created);
+        userRepository.pullEntryRefs(ownerId.toHexString(), deleted);
+        if (updated && created.isEmpty() && deleted.isEmpty()) {
+            // pushing or pulling refs bumps the journal version already
+            userRepository.touchJournal(ownerId.toHexString());
+        }
+        statsService.entriesCreated(ownerId, Collections.nCopies(created.size(), now));
+        statsService.entriesDeleted(ownerId, deletedDates);
+        return results;
+    }
+
+    // false when the entry was changed since it was read; the files left unused either way go to unusedFileIds
+    private boolean updateIfUnchanged(ObjectId ownerId, JournalEntry existing, JournalBatchOperationDTO operation,
+                                      LocalDateTime now, List<String> unusedFileIds) {
+        JournalEntry changes = new JournalEntry();
+        changes.setTitle(operation.getTitle() != null && !operation.getTitle().isBlank() ? operation.getTitle() : null);
+        changes.setContent(operation.getContentFileId() == null ? operation.getContent() : null);
+        changes.setContentFileId(operation.getContentFileId());
+        changes.setContentLength(operation.getContentLength());
+        changes.setLastModifiedDate(now);
+        JournalEntry previous = repository.updateIfVersion(ownerId, existing.getId(), existing.getVersion(), changes);
+        if (previous == null) {
+            if (operation.getContentFileId() != null) {
+                unusedFileIds.add(operation.getContentFileId());
+            }
+            return false;
+        }
+        String replaced = replacedFile(previous, operation.getContentFileId());
+        if (replaced != null) {
+            unusedFileIds.add(replaced);
+        }
+        return true;
+    }
+
+    // same rules as the single-entry endpoints; null when the operation is fine
+    private String validateBatchOperation(JournalBatchOperationDTO operation) {
+        if (operation.getType() == null) {
+            return "Operation type is required";
+        }
+        boolean hasTitle = operation.getTitle() != null && !operation.getTitle().isBlank();
+        boolean hasContent = operation.getContent() != null && !operation.getContent().isEmpty();
+        if (hasTitle && operation.getTitle().length() > 200) {
+            return "Title cannot exceed 200 characters";
+        }
+        if (operation.getType() == JournalBatchOperationDTO.Type.CREATE) {
+            return hasTitle ? null : "Title is required";
+        }
+        if (operation.getId() == null || !ObjectId.isValid(operation.getId())) {
+            return "A valid entry id is required";
+        }
+        if (operation.getType() == JournalBatchOperationDTO.Type.UPDATE && !hasTitle && !hasContent) {
+            return "Nothing to update";
+        }
+        return null;
+    }
+
     public boolean deleteEntry(String id, String username) {
-        Optional<JournalEntry> entryOpt = findEntryByIdAndUser(id, username);
-        if (entryOpt.isEmpty()) {
+        ObjectId ownerId = findOwnerId(username);
+        if (ownerId == null) {
             return false;
         }
-        
-        User user = userRepository.findByUsername(username);
-        user.getEntries().removeIf(entry -> entry.getId().equals(id));
-        userRepository.save(user);
-        repository.deleteById(id);
+        JournalEntry deleted = repository.deleteByIdAndOwner(id, ownerId);
+        if (deleted == null) {
+            return false;
+        }
+        userRepository.pullEntryRefs(ownerId.toHexString(), List.of(id));
+        if (deleted.getContentFileId() != null) {
+            contentStore.delete(List.of(deleted.getContentFileId()));
+        }
+        statsService.entriesDeleted(ownerId, Collections.singletonList(deleted.getCreatedDate()));
         return true;
     }
 
-}
\ No newline at end of file
+    /**
+     * Resolves the id used in the {@code user} DBRef of the user's entries without loading
+     * the user's entries. Returns null when the user doesn't exist.
+     */
+    private ObjectId findOwnerId(String username) {
+        User user = userRepository.findWithoutEntriesByUsername(username);
+        if (user == null || user.getId() == null || !ObjectId.isValid(user.getId())) {
+            return null;
+        }
+        return new ObjectId(user.getId());
+    }
+
+    // _id breaks ties between entries created in the same millisecond so pages stay stable
+    private Sort createdDateSort(String sortOrder) {
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortOrder) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, "createdDate", "id");
+    }
+
+}
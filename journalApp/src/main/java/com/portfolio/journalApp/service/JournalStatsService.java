@@ -0,0 +1,348 @@
+package com.portfolio.journalApp.service;
+
+import com.portfolio.journalApp.dto.StatsRebuildStatusDTO;
+import com.portfolio.journalApp.entity.JournalActivity;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.JournalStats;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.repository.JournalActivityRepository;
+import com.portfolio.journalApp.repository.JournalRepository;
+import com.portfolio.journalApp.repository.JournalStatsRepository;
+import com.portfolio.journalApp.repository.UserRepository;
+import com.portfolio.journalApp.utils.ActivityCalendar;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Keeps each user's {@link JournalStats} and {@link JournalActivity} bitmaps in step with their entries.
+ * Writes adjust counters and bits in place; a user without a statistics document (e.g. from before it
+ * existed) is counted from their entries once, the first time their statistics are needed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JournalStatsService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final int REBUILD_ATTEMPTS = 3;
+
+    private final JournalStatsRepository statsRepository;
+    private final JournalActivityRepository activityRepository;
+    private final JournalRepository journalRepository;
+    private final UserRepository userRepository;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    private final AtomicReference<StatsRebuildStatusDTO> rebuildAllStatus = new AtomicReference<>();
+
+    public void entriesCreated(ObjectId ownerId, Collection<LocalDateTime> createdDates) {
+        if (createdDates.isEmpty()) {
+            return;
+        }
+        try {
+            if (statsRepository.recordEntries(ownerId.toHexString(), createdDates, 1) == null) {
+                rebuild(ownerId);
+                return;
+            }
+            activityRepository.markDays(ownerId.toHexString(), daysOf(createdDates));
+        } catch (RuntimeException e) {
+            discard(ownerId, e);
+        }
+    }
+
+    public void entriesDeleted(ObjectId ownerId, Collection<LocalDateTime> createdDates) {
+        if (createdDates.isEmpty()) {
+            return;
+        }
+        try {
+            JournalStats stats = statsRepository.recordEntries(ownerId.toHexString(), createdDates, -1);
+            if (stats == null) {
+                return; // nothing counted yet, the next read rebuilds from what's left
+            }
+            // $min/$max can't be undone, so if a first or last entry went, look up the new one on the index
+            LocalDateTime first = stats.getFirstEntryDate();
+            LocalDateTime last = stats.getLastEntryDate();
+            boolean boundaryRemoved = createdDates.stream().anyMatch(date -> date != null
+                    && ((first != null && !date.isAfter(first)) || (last != null && !date.isBefore(last))));
+            if (boundaryRemoved) {
+                statsRepository.updateEntryDates(ownerId.toHexString(),
+                        boundaryEntryDate(ownerId, Sort.Direction.ASC), boundaryEntryDate(ownerId, Sort.Direction.DESC));
+            }
+            clearEmptiedDays(ownerId, daysOf(createdDates));
+        } catch (RuntimeException e) {
+            discard(ownerId, e);
+        }
+    }
+
+    public JournalStats getStats(ObjectId ownerId) {
+        return statsRepository.findById(ownerId.toHexString()).orElseGet(() -> rebuild(ownerId));
+    }
+
+    public ActivityCalendar getActivityCalendar(String username) {
+        User user = userRepository.findWithoutEntriesByUsername(username);
+        if (user == null || !ObjectId.isValid(user.getId())) {
+            return ActivityCalendar.of(Map.of());
+        }
+        return getActivityCalendar(new ObjectId(user.getId()));
+    }
+
+    public ActivityCalendar getActivityCalendar(ObjectId ownerId) {
+        getStats(ownerId); // builds the bitmaps too if this user was never counted
+        Map<Integer, long[]> years = new HashMap<>();
+        for (JournalActivity activity : activityRepository.findAllByUserId(ownerId.toHexString())) {
+            years.put(activity.getYear(), activity.words());
+        }
+        return ActivityCalendar.of(years);
+    }
+
+    public Map<String, Object> getStreaks(String username) {
+        ActivityCalendar calendar = getActivityCalendar(username);
+        Map<String, Object> streaks = new HashMap<>();
+        streaks.put("currentStreak", calendar.currentStreak(LocalDate.now()));
+        streaks.put("longestStreak", calendar.longestStreak());
+        streaks.put("activeDays", calendar.activeDays());
+        return streaks;
+    }
+
+    public Map<String, Object> getHeatmap(String username, int year) {
+        List<LocalDate> days = getActivityCalendar(username).activeDaysOf(year);
+        Map<String, Object> heatmap = new HashMap<>();
+        heatmap.put("year", year);
+        heatmap.put("activeDays", days.size());
+        heatmap.put("days", days);
+        return heatmap;
+    }
+
+    public Map<String, Object> countActiveDays(String username, LocalDate startDate, LocalDate endDate) {
+        Map<String, Object> count = new HashMap<>();
+        count.put("startDate", startDate);
+        count.put("endDate", endDate);
+        count.put("activeDays", getActivityCalendar(username).countActiveDays(startDate, endDate));
+        return count;
+    }
+
+    public long getTotalEntries(String userId) {
+        return ObjectId.isValid(userId) ? getStats(new ObjectId(userId)).getTotalEntries() : 0;
+    }
+
+    public Map<String, Object> getJournalStats(String username) {
+        User user = userRepository.findWithoutEntriesByUsername(username);
+        Map<String, Object> stats = new HashMap<>();
+
+        if (user == null || !ObjectId.isValid(user.getId())) {
+            stats.put("totalEntries", 0);
+            stats.put("entriesThisMonth", 0);
+            stats.put("entriesThisWeek", 0);
+            stats.put("averageEntriesPerWeek", 0.0);
+            stats.put("longestStreak", 0);
+            return stats;
+        }
+
+        JournalStats journalStats = getStats(new ObjectId(user.getId()));
+        ActivityCalendar calendar = getActivityCalendar(new ObjectId(user.getId()));
+        LocalDateTime now = LocalDateTime.now();
+        long totalEntries = journalStats.getTotalEntries();
+        double averageEntriesPerWeek = 0.0;
+        if (totalEntries > 0 && journalStats.getFirstEntryDate() != null) {
+            double weeks = Math.max(1.0, Duration.between(journalStats.getFirstEntryDate(), now).toDays() / 7.0);
+            averageEntriesPerWeek = totalEntries / weeks;
+        }
+
+        stats.put("totalEntries", totalEntries);
+        stats.put("entriesThisMonth", journalStats.getMonthlyCounts().getOrDefault(JournalStats.monthKey(now), 0L));
+        stats.put("entriesThisWeek", journalStats.getWeeklyCounts().getOrDefault(JournalStats.weekKey(now), 0L));
+        stats.put("averageEntriesPerWeek", Math.round(averageEntriesPerWeek * 100.0) / 100.0);
+        stats.put("firstEntryDate", journalStats.getFirstEntryDate());
+        stats.put("lastEntryDate", journalStats.getLastEntryDate());
+        stats.put("longestStreak", calendar.longestStreak());
+        stats.put("currentStreak", calendar.currentStreak(now.toLocalDate()));
+        return stats;
+    }
+
+    /**
+     * Recounts one user's statistics and activity bitmaps from their entries' creation dates and
+     * brings the stored documents in line. The statistics are only replaced if no create or delete counted
+     * itself in them while the entries were read; otherwise the recount starts over, as its snapshot
+     * of the entries may lack the entry that was counted. The bitmaps are never rewritten: counted days
+     * are set with $bit and stale ones cleared one by one, so a day marked by a concurrent create stays marked.
+     */
+    public JournalStats rebuild(ObjectId ownerId) {
+        String userId = ownerId.toHexString();
+        Set<LocalDate> activeDays = new TreeSet<>();
+        JournalStats stats = null;
+        boolean replaced = false;
+        for (int attempt = 0; attempt < REBUILD_ATTEMPTS && !replaced; attempt++) {
+            Long revision = statsRepository.findById(userId).map(JournalStats::getRevision).orElse(null);
+            activeDays.clear();
+            stats = count(ownerId, activeDays);
+            replaced = statsRepository.replaceIfUnchanged(stats, revision);
+        }
+        if (!replaced) {
+            // the stored statistics are still kept up to date by every write, just not recounted
+            log.warn("Journal statistics of {} kept changing during {} recounts, left as they are", userId, REBUILD_ATTEMPTS);
+            stats = statsRepository.findById(userId).orElse(stats);
+        }
+        activityRepository.markDays(userId, activeDays);
+        // days still marked without an entry on them, e.g. after a failed update
+        Map<Integer, long[]> stored = new HashMap<>();
+        for (JournalActivity year : activityRepository.findAllByUserId(userId)) {
+            stored.put(year.getYear(), year.words());
+        }
+        ActivityCalendar calendar = ActivityCalendar.of(stored);
+        Set<LocalDate> staleDays = new TreeSet<>();
+        for (int year : stored.keySet()) {
+            calendar.activeDaysOf(year).stream().filter(day -> !activeDays.contains(day)).forEach(staleDays::add);
+        }
+        clearEmptiedDays(ownerId, staleDays);
+        return stats;
+    }
+
+    // the user's statistics as counted from their entries, with the days they were active on added to activeDays
+    private JournalStats count(ObjectId ownerId, Set<LocalDate> activeDays) {
+        JournalStats stats = new JournalStats();
+        stats.setUserId(ownerId.toHexString());
+        try (Stream<JournalEntry> entries = journalRepository.streamCreatedDatesByOwner(ownerId)) {
+            entries.forEach(entry -> {
+                stats.setTotalEntries(stats.getTotalEntries() + 1);
+                LocalDateTime createdDate = entry.getCreatedDate();
+                if (createdDate == null) {
+                    return;
+                }
+                stats.getWeeklyCounts().merge(JournalStats.weekKey(createdDate), 1L, Long::sum);
+                stats.getMonthlyCounts().merge(JournalStats.monthKey(createdDate), 1L, Long::sum);
+                activeDays.add(createdDate.toLocalDate());
+                if (stats.getFirstEntryDate() == null || createdDate.isBefore(stats.getFirstEntryDate())) {
+                    stats.setFirstEntryDate(createdDate);
+                }
+                if (stats.getLastEntryDate() == null || createdDate.isAfter(stats.getLastEntryDate())) {
+                    stats.setLastEntryDate(createdDate);
+                }
+            });
+        }
+        return stats;
+    }
+
+    /**
+     * Backfill: starts rebuilding the statistics of every user in the background, unless that is
+     * running already. Progress is reported by {@link #getRebuildAllStatus()}.
+     *
+     * @return false if a rebuild of all users is already running
+     */
+    public boolean startRebuildAll() {
+        StatsRebuildStatusDTO current = rebuildAllStatus.get();
+        if (current != null && current.isRunning()) {
+            return false;
+        }
+        StatsRebuildStatusDTO started = new StatsRebuildStatusDTO(true, 0, LocalDateTime.now(), null, null);
+        if (!rebuildAllStatus.compareAndSet(current, started)) {
+            return false;
+        }
+        applicationTaskExecutor.execute(() -> rebuildAll(started.getStartedAt()));
+        return true;
+    }
+
+    // null until a rebuild of all users was started
+    public StatsRebuildStatusDTO getRebuildAllStatus() {
+        return rebuildAllStatus.get();
+    }
+
+    // a page of users at a time, each page continuing after the last id of the previous one
+    private void rebuildAll(LocalDateTime startedAt) {
+        int rebuilt = 0;
+        try {
+            PageRequest page = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+            List<User> users = userRepository.findAllUsernames(page).getContent();
+            while (!users.isEmpty()) {
+                for (User user : users) {
+                    if (ObjectId.isValid(user.getId())) {
+                        rebuild(new ObjectId(user.getId()));
+                        rebuilt++;
+                    }
+                }
+                rebuildAllStatus.set(new StatsRebuildStatusDTO(true, rebuilt, startedAt, null, null));
+                users = userRepository.findUsernamesAfter(users.get(users.size() - 1).getId(), page);
+            }
+            rebuildAllStatus.set(new StatsRebuildStatusDTO(false, rebuilt, startedAt, LocalDateTime.now(), null));
+            log.info("Journal statistics rebuilt for {} users", rebuilt);
+        } catch (RuntimeException e) {
+            rebuildAllStatus.set(new StatsRebuildStatusDTO(false, rebuilt, startedAt, LocalDateTime.now(), e.getMessage()));
+            log.error("Rebuilding journal statistics stopped after {} users", rebuilt, e);
+        }
+    }
+
+    public void delete(String userId) {
+        statsRepository.deleteById(userId);
+        activityRepository.deleteAllByUserId(userId);
+    }
+
+    private LocalDateTime boundaryEntryDate(ObjectId ownerId, Sort.Direction direction) {
+        List<JournalEntry> entries = journalRepository.findSliceByOwner(ownerId,
+                PageRequest.of(0, 1, Sort.by(direction, "createdDate", "id"))).getContent();
+        return entries.isEmpty() ? null : entries.get(0).getCreatedDate();
+    }
+
+    /**
+     * Clears the days without any entry left on them. Checking and clearing are separate steps, and an
+     * entry created on such a day in between would have its bit cleared as well; so the cleared days are
+     * checked again, after the clear, and marked again where an entry exists by then.
+     */
+    private void clearEmptiedDays(ObjectId ownerId, Collection<LocalDate> days) {
+        Set<LocalDate> emptiedDays = new TreeSet<>();
+        for (LocalDate day : days) {
+            if (!hasEntryOn(ownerId, day)) {
+                emptiedDays.add(day);
+            }
+        }
+        if (emptiedDays.isEmpty()) {
+            return;
+        }
+        activityRepository.clearDays(ownerId.toHexString(), emptiedDays);
+        Set<LocalDate> refilledDays = new TreeSet<>();
+        for (LocalDate day : emptiedDays) {
+            if (hasEntryOn(ownerId, day)) {
+                refilledDays.add(day);
+            }
+        }
+        activityRepository.markDays(ownerId.toHexString(), refilledDays);
+    }
+
+    private boolean hasEntryOn(ObjectId ownerId, LocalDate day) {
+        return journalRepository.existsByOwnerAndCreatedDateInRange(ownerId, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    private Set<LocalDate> daysOf(Collection<LocalDateTime> createdDates) {
+        Set<LocalDate> days = new TreeSet<>();
+        for (LocalDateTime createdDate : createdDates) {
+            if (createdDate != null) {
+                days.add(createdDate.toLocalDate());
+            }
+        }
+        return days;
+    }
+
+    // the entry write already happened; rather than keep counters that are now off, recount on the next read
+    private void discard(ObjectId ownerId, RuntimeException e) {
+        log.warn("Could not update journal statistics of {}, they will be rebuilt: {}", ownerId, e.getMessage());
+        try {
+            statsRepository.deleteById(ownerId.toHexString());
+        } catch (RuntimeException ignored) {
+            // left as is until the next admin rebuild
+        }
+    }
+}
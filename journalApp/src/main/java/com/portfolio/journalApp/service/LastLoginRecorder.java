@@ -0,0 +1,54 @@
+package com.portfolio.journalApp.service;
+
+import com.portfolio.journalApp.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for last-login timestamps. Logins only touch the in-memory map; repeated
+ * logins of one user coalesce into a single value, and the buffer is flushed as one bulk write
+ * every app.last-login.max-staleness and on shutdown.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginRecorder {
+
+    private final UserRepository userRepository;
+
+    private final ConcurrentHashMap<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(String userId, LocalDateTime loginDate) {
+        pending.merge(userId, loginDate, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${app.last-login.max-staleness:PT30S}")
+    @PreDestroy
+    public void flush() {
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        for (String userId : pending.keySet()) {
+            LocalDateTime loginDate = pending.remove(userId);
+            if (loginDate != null) {
+                batch.put(userId, loginDate);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            userRepository.updateLastLoginDates(batch);
+        } catch (RuntimeException e) {
+            // keep the timestamps for the next flush
+            batch.forEach(this::record);
+            log.warn("Failed to flush {} last-login dates, will retry", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.portfolio.journalApp.service;
+
+import com.portfolio.journalApp.dto.CursorPageDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.exceptions.ContentTooLargeException;
+import com.portfolio.journalApp.exceptions.ResourceNotFoundException;
+import com.portfolio.journalApp.repository.JournalContentStore;
+import com.portfolio.journalApp.repository.ReactiveJournalRepository;
+import com.portfolio.journalApp.repository.ReactiveUserRepository;
+import com.portfolio.journalApp.utils.JournalCursor;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reactive variant of {@link JournalService}, used by the "reactive" profile. Nothing here blocks:
+ * every method only assembles a pipeline that runs when the web layer subscribes to it.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveJournalService {
+
+    private final ReactiveJournalRepository repository;
+    private final ReactiveUserRepository userRepository;
+    private final JournalStatsService statsService;
+    private final JournalContentStore contentStore;
+
+    // content above this stays with the servlet stack, which streams it into the content store
+    @Value("${app.journal.content.inline-max-size:16KB}")
+    private DataSize inlineContentMaxSize = DataSize.ofKilobytes(16);
+
+    public Flux<JournalEntry> getAllEntries(String username, String sortOrder) {
+        return findOwnerId(username)
+                .flatMapMany(ownerId -> repository.findAllByOwner(ownerId, createdDateSort(sortOrder)));
+    }
+
+    public Flux<JournalEntry> getPaginatedEntries(String username, int page, int size, String sortOrder) {
+        return findOwnerId(username)
+                .flatMapMany(ownerId -> repository.findAllByOwner(ownerId, PageRequest.of(page, size, createdDateSort(sortOrder))));
+    }
+
+    /**
+     * Keyset page after {@code cursor}, as {@link JournalService#getEntriesByCursor} returns it. One
+     * entry more than the page is read to tell whether another page follows.
+     */
+    public Mono<CursorPageDTO<JournalEntry>> getEntriesByCursor(String username, String cursor, int size,
+                                                                String sortOrder, boolean includeTotal) {
+        JournalCursor position = cursor == null || cursor.isBlank() ? null : JournalCursor.decode(cursor);
+        Sort.Direction direction = position != null
+                ? position.getDirection()
+                : createdDateSort(sortOrder).getOrderFor("createdDate").getDirection();
+        Pageable pageable = PageRequest.of(0, size + 1, Sort.by(direction, "createdDate", "id"));
+        return findOwnerId(username)
+                .flatMap(ownerId -> {
+                    Flux<JournalEntry> entries = position == null
+                            ? repository.findAllByOwner(ownerId, pageable)
+                            : entriesAfter(ownerId, position, pageable);
+                    Mono<Long> total = includeTotal ? repository.countByOwner(ownerId) : Mono.empty();
+                    return Mono.zip(entries.collectList(), total.map(Optional::of).defaultIfEmpty(Optional.empty()))
+                            .map(result -> {
+                                List<JournalEntry> content = result.getT1();
+                                boolean hasNext = content.size() > size;
+                                if (hasNext) {
+                                    content = content.subList(0, size);
+                                }
+                                String nextCursor = hasNext && !content.isEmpty()
+                                        ? JournalCursor.after(content.get(content.size() - 1), direction).encode()
+                                        : null;
+                                return new CursorPageDTO<>(content, nextCursor, nextCursor != null, result.getT2().orElse(null));
+                            });
+                })
+                .defaultIfEmpty(new CursorPageDTO<>());
+    }
+
+    public Mono<Long> countEntries(String username) {
+        return findOwnerId(username)
+                .flatMap(repository::countByOwner)
+                .defaultIfEmpty(0L);
+    }
+
+    public Mono<JournalEntry> findEntryByIdAndUser(String entryId, String username) {
+        return findOwnerId(username)
+                .flatMap(ownerId -> repository.findByIdAndOwner(entryId, ownerId));
+    }
+
+    public Flux<JournalEntry> searchEntries(String username, String query, int page, int size) {
+        if (query == null || query.trim().isEmpty()) {
+            return Flux.empty();
+        }
+        return findOwnerId(username)
+                .flatMapMany(ownerId -> repository.searchByOwner(ownerId, query.trim(), PageRequest.of(page, size)));
+    }
+
+    public Flux<JournalEntry> getEntriesByDateRange(String username, LocalDateTime startDate, LocalDateTime endDate) {
+        return findOwnerId(username)
+                .flatMapMany(ownerId -> repository.findAllByOwnerAndCreatedDateBetween(
+                        ownerId, startDate, endDate, createdDateSort("desc")));
+    }
+
+    public Mono<JournalEntry> saveEntry(JournalEntry entry, String username) {
+        if (exceedsInlineLimit(entry.getContent())) {
+            return Mono.error(contentTooLarge());
+        }
+        return userRepository.findWithoutEntriesByUsername(username)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("User with username " + username + " not found")))
+                .flatMap(user -> {
+                    entry.setCreatedDate(LocalDateTime.now());
+                    entry.setVersion(1);
+                    entry.setLastModifiedDate(entry.getCreatedDate());
+                    entry.setContentFileId(null);
+                    entry.setContentLength(null);
+                    entry.setUser(user);
+                    return repository.insert(entry)
+                            .flatMap(saved -> userRepository.pushEntryRef(user.getId(), saved.getId())
+                                    .then(blocking(() -> statsService.entriesCreated(
+                                            new ObjectId(user.getId()), Collections.singletonList(saved.getCreatedDate()))))
+                                    .thenReturn(saved));
+                });
+    }
+
+    /**
+     * Writes the change only while the entry is still at the version read, as {@link JournalService}
+     * does: a concurrent edit fails with {@link OptimisticLockingFailureException} instead of being
+     * overwritten. New content replaces a content file, which is deleted afterwards.
+     */
+    public Mono<JournalEntry> updateEntry(String entryId, JournalEntry newEntry, String username) {
+        if (exceedsInlineLimit(newEntry.getContent())) {
+            return Mono.error(contentTooLarge());
+        }
+        return findOwnerId(username)
+                .flatMap(ownerId -> repository.findByIdAndOwner(entryId, ownerId)
+                        .flatMap(existingEntry -> {
+                            JournalEntry changes = new JournalEntry();
+                            changes.setTitle(newEntry.getTitle() != null && !newEntry.getTitle().isEmpty() ?
+                                    newEntry.getTitle() : null);
+                            changes.setContent(newEntry.getContent() != null && !newEntry.getContent().isEmpty() ?
+                                    newEntry.getContent() : null);
+                            changes.setLastModifiedDate(LocalDateTime.now());
+                            return repository.updateIfVersion(ownerId, entryId, existingEntry.getVersion(), changes)
+                                    .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException(
+                                            "Entry was changed by another request, reload it and try again")))
+                                    .flatMap(previous -> deleteContentFile(changes.getContent() != null ? previous.getContentFileId() : null)
+                                            .then(userRepository.touchJournal(ownerId.toHexString()))
+                                            .thenReturn(applied(existingEntry, changes)));
+                        }))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Entry not found or access denied")));
+    }
+
+    public Mono<Boolean> deleteEntry(String id, String username) {
+        return userRepository.findWithoutEntriesByUsername(username)
+                .filter(user -> ObjectId.isValid(user.getId()))
+                .flatMap(user -> repository.findByIdAndOwner(id, new ObjectId(user.getId()))
+                        .flatMap(entry -> userRepository.pullEntryRef(user.getId(), id)
+                                .then(repository.deleteById(id))
+                                .then(deleteContentFile(entry.getContentFileId()))
+                                .then(blocking(() -> statsService.entriesDeleted(
+                                        new ObjectId(user.getId()), Collections.singletonList(entry.getCreatedDate()))))
+                                .thenReturn(true)))
+                .defaultIfEmpty(false);
+    }
+
+    // the entry as updateIfVersion left it
+    private static JournalEntry applied(JournalEntry entry, JournalEntry changes) {
+        if (changes.getTitle() != null) {
+            entry.setTitle(changes.getTitle());
+        }
+        if (changes.getContent() != null) {
+            entry.setContent(changes.getContent());
+            entry.setContentFileId(null);
+            entry.setContentLength(null);
+        }
+        entry.setVersion(entry.getVersion() + 1);
+        entry.setLastModifiedDate(changes.getLastModifiedDate());
+        return entry;
+    }
+
+    private boolean exceedsInlineLimit(String content) {
+        long inlineMax = inlineContentMaxSize.toBytes();
+        // a char never takes more than 3 bytes in UTF-8, so short content needs no encoding to decide
+        return content != null && content.length() * 3L > inlineMax
+                && content.getBytes(StandardCharsets.UTF_8).length > inlineMax;
+    }
+
+    private ContentTooLargeException contentTooLarge() {
+        return new ContentTooLargeException("Content cannot exceed " + inlineContentMaxSize.toBytes() + " bytes");
+    }
+
+    private Mono<Void> deleteContentFile(String fileId) {
+        return fileId == null ? Mono.empty() : blocking(() -> contentStore.delete(List.of(fileId)));
+    }
+
+    // statistics and content files are shared with the servlet stack, whose services block
+    private Mono<Void> blocking(Runnable update) {
+        return Mono.fromRunnable(update).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+
+    // empty when the user doesn't exist, so callers end up with no entries
+    private Mono<ObjectId> findOwnerId(String username) {
+        return userRepository.findWithoutEntriesByUsername(username)
+                .map(User::getId)
+                .filter(ObjectId::isValid)
+                .map(ObjectId::new);
+    }
+
+    private Flux<JournalEntry> entriesAfter(ObjectId ownerId, JournalCursor position, Pageable pageable) {
+        if (position.getCreatedDate() == null) {
+            return position.getDirection().isAscending()
+                    ? repository.findAllByOwnerAfterUndated(ownerId, position.getId(), pageable)
+                    : repository.findAllByOwnerBeforeUndated(ownerId, position.getId(), pageable);
+        }
+        return position.getDirection().isAscending()
+                ? repository.findAllByOwnerAfter(ownerId, position.getCreatedDate(), position.getId(), pageable)
+                : repository.findAllByOwnerBefore(ownerId, position.getCreatedDate(), position.getId(), pageable);
+    }
+
+    private Sort createdDateSort(String sortOrder) {
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortOrder) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, "createdDate", "id");
+    }
+}
@@ -1,28 +1,62 @@
 package com.portfolio.journalApp.service;
 
+import com.portfolio.journalApp.dto.AdminUserDTO;
+import com.portfolio.journalApp.dto.CursorPageDTO;
 import com.portfolio.journalApp.dto.UpdateProfileRequestDTO;
 import com.portfolio.journalApp.dto.UserProfileDTO;
 import com.portfolio.journalApp.entity.User;
 import com.portfolio.journalApp.repository.UserRepository;
+import com.portfolio.journalApp.security.PrincipalCache;
+import com.portfolio.journalApp.security.TokenVersionRegistry;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Timed("user.service")
 public class UserService {
 
+    private static final int MAX_ADMIN_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final JournalStatsService journalStatsService;
 
     public List<User> findAllUsers() {
         return userRepository.findAll();
     }
 
+    /**
+     * One page of the admin user listing in username order, read from the users collection alone.
+     * {@code after} is the previous page's {@code nextCursor} (its last username); the total is only
+     * counted when asked for.
+     */
+    public CursorPageDTO<AdminUserDTO> getUsersForAdmin(String prefix, String after, int size, boolean includeTotal) {
+        if (size < 1 || size > MAX_ADMIN_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_ADMIN_PAGE_SIZE);
+        }
+        String afterUsername = after == null || after.isBlank() ? null : after;
+        // one extra row tells whether another page follows
+        List<AdminUserDTO> users = userRepository.findAdminUsers(prefix, afterUsername, size + 1);
+        boolean hasNext = users.size() > size;
+        List<AdminUserDTO> content = hasNext ? users.subList(0, size) : users;
+        String nextCursor = hasNext ? content.get(content.size() - 1).getUsername() : null;
+        Long total = includeTotal ? userRepository.countByUsernamePrefix(prefix) : null;
+        return new CursorPageDTO<>(content, nextCursor, hasNext, total);
+    }
+
     public User saveUserInfo(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setRoles(List.of("USER"));
@@ -33,14 +67,16 @@ public class UserService {
     public User saveAdminUser(User user) {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setRoles(List.of("USER", "ADMIN"));
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        principalCache.invalidate(savedUser.getUsername());
+        return savedUser;
     }
 
     public User findUser(String username) {
         return userRepository.findByUsername(username);
     }
     public UserProfileDTO getUserProfile(String username) {
-        User user = userRepository.findByUsername(username);
+        User user = userRepository.findWithoutEntriesByUsername(username);
         if (user == null) {
             return null;
         }
@@ -49,7 +85,7 @@ public class UserService {
         profile.setUsername(user.getUsername());
         profile.setEmail(user.getEmail());
         profile.setRoles(user.getRoles());
-        profile.setTotalEntries(user.getEntries() != null ? user.getEntries().size() : 0);
+        profile.setTotalEntries((int) journalStatsService.getTotalEntries(user.getId()));
 
         if (user.getCreatedDate() != null) {
             profile.setMemberSince(user.getCreatedDate().format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
@@ -59,49 +95,62 @@ public class UserService {
     }
 
     public User updateUserProfile(String username, UpdateProfileRequestDTO updateRequest) {
-        User existingUser = userRepository.findByUsername(username);
+        User existingUser = userRepository.findWithoutEntriesByUsername(username);
         if (existingUser == null) {
             return null;
         }
-        boolean needsUpdate = false;
+        // only the changed fields are written, so entries added meanwhile from another device survive
+        Map<String, Object> changes = new HashMap<>();
         if (updateRequest.getUsername() != null &&
                 !updateRequest.getUsername().trim().isEmpty() &&
                 !updateRequest.getUsername().equals(existingUser.getUsername())) {
 
 
-            if (userRepository.findByUsername(updateRequest.getUsername()) != null) {
+            if (userRepository.findWithoutEntriesByUsername(updateRequest.getUsername()) != null) {
                 throw new IllegalArgumentException("Username already exists");
             }
-            existingUser.setUsername(updateRequest.getUsername());
-            needsUpdate = true;
+            changes.put("username", updateRequest.getUsername());
         }
+        boolean passwordChanged = false;
         if (updateRequest.getPassword() != null && !updateRequest.getPassword().trim().isEmpty()) {
-            existingUser.setPassword(passwordEncoder.encode(updateRequest.getPassword()));
-            needsUpdate = true;
+            changes.put("password", passwordEncoder.encode(updateRequest.getPassword()));
+            passwordChanged = true;
         }
 
 
         if (updateRequest.getEmail() != null) {
-            existingUser.setEmail(updateRequest.getEmail().trim().isEmpty() ? null : updateRequest.getEmail());
-            needsUpdate = true;
+            changes.put("email", updateRequest.getEmail().trim().isEmpty() ? null : updateRequest.getEmail());
         }
 
-        if (needsUpdate) {
-            return userRepository.save(existingUser);
+        if (changes.isEmpty()) {
+            return existingUser;
         }
-
-        return existingUser;
+        User savedUser;
+        try {
+            // a password change also bumps tokenVersion, revoking self-contained tokens issued with the old one
+            savedUser = userRepository.updateProfile(existingUser.getId(), changes, passwordChanged);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("Username already exists");
+        }
+        // drop both names: the old one must stop authenticating, the new one may have been cached as someone else
+        principalCache.invalidate(username);
+        principalCache.invalidate((String) changes.getOrDefault("username", username));
+        tokenVersionRegistry.invalidate(existingUser.getId());
+        return savedUser;
     }
 
     public void deleteUser(String existingUser) {
+        User user = userRepository.findWithoutEntriesByUsername(existingUser);
         userRepository.deleteByUsername(existingUser);
-    }
-
-    public void updateLastLoginDate(String username) {
-        User user = userRepository.findByUsername(username);
+        principalCache.invalidate(existingUser);
         if (user != null) {
-            user.setLastLoginDate(LocalDateTime.now());
-            userRepository.save(user);
+            tokenVersionRegistry.invalidate(user.getId());
+            journalStatsService.delete(user.getId());
         }
     }
+
+    // buffered by LastLoginRecorder and written in bulk, so a login doesn't rewrite the user document
+    public void updateLastLoginDate(User user) {
+        lastLoginRecorder.record(user.getId(), LocalDateTime.now());
+    }
 }
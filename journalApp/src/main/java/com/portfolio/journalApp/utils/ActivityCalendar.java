@@ -0,0 +1,115 @@
+package com.portfolio.journalApp.utils;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Days on which a user wrote at least one entry, as one bit per day. Each calendar year is stored as
+ * {@link #WORDS_PER_YEAR} longs (bit {@code dayOfYear - 1}); here the years are laid end to end so
+ * streaks and range counts are runs and popcounts over a single bit set, never a scan of entries.
+ */
+public final class ActivityCalendar {
+
+    public static final int WORDS_PER_YEAR = 6; // 384 bits, enough for a leap year
+
+    private final LocalDate origin; // day of bit 0
+    private final BitSet days;
+
+    private ActivityCalendar(LocalDate origin, BitSet days) {
+        this.origin = origin;
+        this.days = days;
+    }
+
+    /**
+     * @param years calendar year to its {@link #WORDS_PER_YEAR} bitmap words; missing years have no activity
+     */
+    public static ActivityCalendar of(Map<Integer, long[]> years) {
+        TreeMap<Integer, long[]> sorted = new TreeMap<>(years);
+        if (sorted.isEmpty()) {
+            return new ActivityCalendar(LocalDate.of(LocalDate.now().getYear(), 1, 1), new BitSet());
+        }
+        LocalDate origin = LocalDate.of(sorted.firstKey(), 1, 1);
+        BitSet days = new BitSet();
+        sorted.forEach((year, words) -> {
+            int offset = (int) ChronoUnit.DAYS.between(origin, LocalDate.of(year, 1, 1));
+            for (int word = 0; word < words.length; word++) {
+                long bits = words[word];
+                while (bits != 0) {
+                    days.set(offset + word * 64 + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        });
+        return new ActivityCalendar(origin, days);
+    }
+
+    // position of a day inside its year's words
+    public static int wordIndex(LocalDate day) {
+        return (day.getDayOfYear() - 1) >>> 6;
+    }
+
+    public static long bitMask(LocalDate day) {
+        return 1L << ((day.getDayOfYear() - 1) & 63);
+    }
+
+    public boolean isActive(LocalDate day) {
+        int index = indexOf(day);
+        return index >= 0 && days.get(index);
+    }
+
+    public int activeDays() {
+        return days.cardinality();
+    }
+
+    // inclusive of both ends
+    public int countActiveDays(LocalDate from, LocalDate to) {
+        int start = Math.max(0, indexOf(from));
+        int end = indexOf(to) + 1;
+        return end > start ? days.get(start, end).cardinality() : 0;
+    }
+
+    public int longestStreak() {
+        int longest = 0;
+        for (int start = days.nextSetBit(0); start >= 0; ) {
+            int end = days.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = days.nextSetBit(end);
+        }
+        return longest;
+    }
+
+    /**
+     * Consecutive active days up to today. A streak is still current when today has no entry yet
+     * but yesterday did.
+     */
+    public int currentStreak(LocalDate today) {
+        int index = indexOf(today);
+        if (index >= 0 && !days.get(index)) {
+            index--;
+        }
+        if (index < 0 || !days.get(index)) {
+            return 0;
+        }
+        return index - days.previousClearBit(index);
+    }
+
+    public List<LocalDate> activeDaysOf(int year) {
+        List<LocalDate> active = new ArrayList<>();
+        LocalDate first = LocalDate.of(year, 1, 1);
+        int start = Math.max(0, indexOf(first));
+        int end = indexOf(first.plusYears(1));
+        for (int index = days.nextSetBit(start); index >= 0 && index < end; index = days.nextSetBit(index + 1)) {
+            active.add(origin.plusDays(index));
+        }
+        return active;
+    }
+
+    private int indexOf(LocalDate day) {
+        return (int) ChronoUnit.DAYS.between(origin, day);
+    }
+}
@@ -0,0 +1,50 @@
+package com.portfolio.journalApp.utils;
+
+import com.portfolio.journalApp.entity.JournalEntry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a user's journal for keyset pagination: the (createdDate, id) of the last
+ * entry a client has seen plus the direction it is scrolling in, encoded as url-safe base64.
+ * Entries without a createdDate sort before every dated entry (MongoDB orders null lowest), so they
+ * come last newest-first; their cursor leaves the date empty and pages on the id alone.
+ */
+@Getter
+@AllArgsConstructor
+public class JournalCursor {
+
+    private final Sort.Direction direction;
+    private final LocalDateTime createdDate;
+    private final ObjectId id;
+
+    public static JournalCursor after(JournalEntry entry, Sort.Direction direction) {
+        return new JournalCursor(direction, entry.getCreatedDate(), new ObjectId(entry.getId()));
+    }
+
+    public String encode() {
+        String raw = direction.name() + "|" + (createdDate == null ? "" : createdDate) + "|" + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JournalCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !ObjectId.isValid(parts[2])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime createdDate = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            return new JournalCursor(Sort.Direction.valueOf(parts[0]), createdDate, new ObjectId(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
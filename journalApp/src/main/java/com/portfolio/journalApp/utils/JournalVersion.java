@@ -0,0 +1,31 @@
+package com.portfolio.journalApp.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Version of one user's whole journal, for conditional GETs of their entries. The ETag names the
+ * user as well, since the same URL serves every user's journal. It is weak because the body may go
+ * out gzipped or not (Tomcat never compresses a response with a strong ETag); If-None-Match on a GET
+ * compares weakly either way.
+ */
+@Getter
+@AllArgsConstructor
+public class JournalVersion {
+
+    private final String userId;
+    private final long version;
+    private final LocalDateTime lastModified;
+
+    public String etag() {
+        return "W/\"" + userId + "-" + version + "\"";
+    }
+
+    // -1 when unknown (journals not changed since versions were introduced), so only the ETag is compared
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
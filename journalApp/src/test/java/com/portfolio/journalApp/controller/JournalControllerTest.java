@@ -0,0 +1,100 @@
+package com.portfolio.journalApp.controller;
+
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.service.JournalService;
+import com.portfolio.journalApp.service.JournalStatsService;
+import com.portfolio.journalApp.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JournalControllerTest {
+
+    @Mock
+    private JournalService service;
+
+    @Mock
+    private JournalStatsService statsService;
+
+    @Mock
+    private UserService userService;
+
+    private JournalController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new JournalController(service, statsService, userService, Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    private JournalEntry entry(String title, LocalDateTime createdDate) {
+        JournalEntry entry = new JournalEntry();
+        entry.setTitle(title);
+        entry.setCreatedDate(createdDate);
+        return entry;
+    }
+
+    private byte[] write(StreamingResponseBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void testExportWritesOneEntryPerLineWithAnEscapedFilename() throws Exception {
+        String username = "ann \"the\" ünïcode";
+        UserDetails userDetails = User.withUsername(username).password("password").roles("USER").build();
+        LocalDateTime monday = LocalDateTime.of(2025, 2, 3, 9, 0);
+        when(service.streamAllEntries(username)).thenReturn(Stream.of(entry("first", monday), entry("second", monday.plusDays(1))));
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportEntries(userDetails, false);
+
+        String[] lines = new String(write(response.getBody()), StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"title\":\"first\"").doesNotContain("\n");
+        assertThat(lines[1]).contains("\"title\":\"second\"");
+        String header = response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION);
+        assertThat(header).startsWith("attachment; ").contains("filename*=UTF-8''");
+        assertThat(ContentDisposition.parse(header).getFilename()).isEqualTo("journal-" + username + ".ndjson");
+    }
+
+    @Test
+    void testGzipExportIsCompressed() throws Exception {
+        UserDetails userDetails = User.withUsername("username1").password("password").roles("USER").build();
+        when(service.streamAllEntries("username1")).thenReturn(Stream.of(entry("first", LocalDateTime.of(2025, 2, 3, 9, 0))));
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportEntries(userDetails, true);
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(write(response.getBody())))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("\"title\":\"first\"").endsWith("}\n");
+        }
+    }
+
+    @Test
+    void testEmptyJournalExportWritesNothing() throws Exception {
+        UserDetails userDetails = User.withUsername("username1").password("password").roles("USER").build();
+        when(service.streamAllEntries("username1")).thenReturn(Stream.empty());
+
+        assertThat(write(controller.exportEntries(userDetails, false).getBody())).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package com.portfolio.journalApp.metrics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MongoDocumentMetricsTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MongoDocumentMetrics metrics = new MongoDocumentMetrics(registry);
+
+    private void run(int requestId, String commandName, String command, String response) {
+        metrics.commandStarted(new CommandStartedEvent(null, 1L, requestId, CONNECTION, "journaldb",
+                commandName, BsonDocument.parse(command)));
+        metrics.commandSucceeded(new CommandSucceededEvent(null, 1L, requestId, CONNECTION, "journaldb",
+                commandName, BsonDocument.parse(response), 1_000L));
+    }
+
+    private DistributionSummary documents(String command, String collection) {
+        return registry.find("mongodb.driver.documents").tags("command", command, "collection", collection).summary();
+    }
+
+    @Test
+    void testDocumentsAreCountedPerCommandAndCollection() {
+        run(1, "find", "{find: 'journal_entries', filter: {}}",
+                "{cursor: {id: 7, firstBatch: [{_id: 1}, {_id: 2}, {_id: 3}]}, ok: 1}");
+        run(2, "getMore", "{getMore: 7, collection: 'journal_entries'}",
+                "{cursor: {id: 0, nextBatch: [{_id: 4}]}, ok: 1}");
+        run(3, "update", "{update: 'users', updates: []}", "{n: 1, nModified: 1, ok: 1}");
+        run(4, "ping", "{ping: 1}", "{ok: 1}");
+
+        assertThat(documents("find", "journal_entries").totalAmount()).isEqualTo(3);
+        assertThat(documents("getMore", "journal_entries").totalAmount()).isEqualTo(1);
+        assertThat(documents("update", "users").totalAmount()).isEqualTo(1);
+        assertThat(registry.find("mongodb.driver.documents").tags("command", "ping").summary()).isNull();
+    }
+
+    @Test
+    void testFailedCommandsAreNotRecorded() {
+        metrics.commandStarted(new CommandStartedEvent(null, 1L, 5, CONNECTION,
+                "journaldb", "insert", BsonDocument.parse("{insert: 'users', documents: []}")));
+        metrics.commandFailed(new CommandFailedEvent(null, 1L, 5, CONNECTION, "journaldb", "insert",
+                1_000L, new IllegalStateException("duplicate key")));
+
+        assertThat(registry.find("mongodb.driver.documents").summary()).isNull();
+    }
+}
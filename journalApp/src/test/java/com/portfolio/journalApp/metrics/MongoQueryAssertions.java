@@ -0,0 +1,37 @@
+package com.portfolio.journalApp.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query budget checks for integration tests that run against MongoDB, e.g.
+ * {@code assertAtMostQueries(3, () -> mockMvc.perform(get("/journal/all")))}. Counts every command the
+ * action issues on the test thread, which includes MockMvc requests and their filters.
+ */
+public final class MongoQueryAssertions {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private MongoQueryAssertions() {
+    }
+
+    /**
+     * Runs the action and fails if it issued more than {@code maxCommands} MongoDB commands.
+     *
+     * @return what the action issued, for further assertions on documents or bytes
+     */
+    public static MongoQueryCount assertAtMostQueries(int maxCommands, Action action) throws Exception {
+        MongoQueryCount queries = MongoQueryTracker.start();
+        try {
+            action.run();
+        } finally {
+            queries.close();
+        }
+        assertThat(queries.getCommands())
+                .as("MongoDB commands issued (%s)", queries.getRepeats())
+                .isLessThanOrEqualTo(maxCommands);
+        return queries;
+    }
+}
@@ -0,0 +1,64 @@
+package com.portfolio.journalApp.metrics;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+
+import static com.portfolio.journalApp.metrics.MongoQueryAssertions.assertAtMostQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MongoQueryTrackerTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final MongoQueryTracker tracker = new MongoQueryTracker();
+
+    private void find(String collection, int documents) {
+        StringBuilder batch = new StringBuilder();
+        for (int i = 0; i < documents; i++) {
+            batch.append(i > 0 ? ", " : "").append("{_id: ").append(i).append('}');
+        }
+        tracker.commandStarted(new CommandStartedEvent(null, 1L, 1, CONNECTION, "journaldb", "find",
+                BsonDocument.parse("{find: '" + collection + "'}")));
+        tracker.commandSucceeded(new CommandSucceededEvent(null, 1L, 1, CONNECTION, "journaldb", "find",
+                BsonDocument.parse("{cursor: {id: 0, firstBatch: [" + batch + "]}, ok: 1}"), 1_000L));
+    }
+
+    @Test
+    void testCountsNestAndStopWhenClosed() throws Exception {
+        MongoQueryCount outer;
+        MongoQueryCount inner;
+        try (MongoQueryCount request = MongoQueryTracker.start()) {
+            outer = request;
+            find("users", 1);
+            inner = assertAtMostQueries(3, () -> {
+                for (int i = 0; i < 3; i++) {
+                    find("journal_entries", 1);
+                }
+            });
+        }
+        find("users", 5);
+
+        assertThat(inner.getCommands()).isEqualTo(3);
+        assertThat(outer.getCommands()).isEqualTo(4);
+        assertThat(outer.getDocuments()).isEqualTo(4);
+        assertThat(outer.getBytes()).isGreaterThan(0);
+        assertThat(outer.getMostRepeated()).isEqualTo("find journal_entries");
+    }
+
+    @Test
+    void testAssertionFailsWhenTheBudgetIsExceeded() {
+        assertThatThrownBy(() -> assertAtMostQueries(2, () -> {
+            find("users", 1);
+            find("journal_entries", 2);
+            find("journal_entries", 2);
+        })).isInstanceOf(AssertionError.class).hasMessageContaining("find journal_entries=2");
+    }
+}
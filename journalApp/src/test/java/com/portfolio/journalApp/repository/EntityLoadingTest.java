@@ -0,0 +1,57 @@
+package com.portfolio.journalApp.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.DBRef;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EntityLoadingTest {
+
+    private static final int JOURNAL_SIZE = 50;
+
+    private final MappedJournal journal = new MappedJournal(JOURNAL_SIZE);
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void testEntryLookupReadsOnlyTheEntry() throws Exception {
+        JournalEntry entry = journal.findEntry(journal.getEntryIds().get(0));
+        String json = objectMapper.writeValueAsString(entry);
+
+        assertThat(json).contains("\"title\":\"Entry 0\"").doesNotContain("\"user\"");
+        assertThat(journal.getDocumentsRead()).isEqualTo(1);
+
+        // an update saves the entry back with its owner reference, still unresolved
+        Document saved = journal.write(entry);
+        assertThat(saved.get("user", DBRef.class).getId()).isInstanceOf(ObjectId.class);
+        assertThat(journal.getDocumentsRead()).isEqualTo(1);
+    }
+
+    @Test
+    void testUserEntriesResolveOnFirstUseOnly() throws Exception {
+        User user = journal.findUser();
+        String json = objectMapper.writeValueAsString(user);
+
+        assertThat(json).contains("\"username\":\"" + MappedJournal.USERNAME + "\"").doesNotContain("entries");
+        assertThat(journal.getDocumentsRead()).isEqualTo(1);
+
+        assertThat(user.getEntries()).hasSize(JOURNAL_SIZE);
+        assertThat(journal.getDocumentsRead()).isEqualTo(1 + JOURNAL_SIZE);
+    }
+
+    @Test
+    void testEagerMappingReadsTheWholeJournalForOneEntry() throws Exception {
+        MappedJournal.EagerJournalEntry entry = journal.findEntryEagerly(journal.getEntryIds().get(0));
+        String json = objectMapper.writeValueAsString(entry);
+
+        assertThat(json).contains("\"title\":\"Entry 0\"");
+        assertThat(entry.getUser().getEntries()).hasSize(JOURNAL_SIZE);
+        // the entry and its owner, then the owner's whole journal
+        assertThat(journal.getDocumentsRead()).isGreaterThan(1 + JOURNAL_SIZE);
+    }
+}
@@ -0,0 +1,78 @@
+package com.portfolio.journalApp.repository;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.portfolio.journalApp.exceptions.ContentTooLargeException;
+import com.portfolio.journalApp.utils.LimitedInputStream;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+import java.io.ByteArrayInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GridFsJournalContentStoreTest {
+
+    @Mock
+    private GridFsTemplate gridFsTemplate;
+
+    @Mock
+    private MongoDatabaseFactory databaseFactory;
+
+    @Mock
+    private MongoDatabase database;
+
+    @Mock
+    private GridFSBucket bucket;
+
+    @Mock
+    private GridFSUploadStream upload;
+
+    @Test
+    void testUploadOverTheLimitIsAborted() {
+        GridFsJournalContentStore store = new GridFsJournalContentStore(gridFsTemplate, databaseFactory, "journal_content");
+        when(databaseFactory.getMongoDatabase()).thenReturn(database);
+        when(bucket.openUploadStream(anyString(), any(GridFSUploadOptions.class))).thenReturn(upload);
+        LimitedInputStream content = new LimitedInputStream(new ByteArrayInputStream(new byte[64 * 1024]), 1024);
+
+        try (MockedStatic<GridFSBuckets> buckets = mockStatic(GridFSBuckets.class)) {
+            buckets.when(() -> GridFSBuckets.create(database, "journal_content")).thenReturn(bucket);
+
+            assertThatThrownBy(() -> store.store(new ObjectId(), content)).isInstanceOf(ContentTooLargeException.class);
+        }
+        // aborting deletes the chunks already written; closing would have kept them as a file
+        verify(upload).abort();
+        verify(upload, never()).close();
+    }
+
+    @Test
+    void testCompleteUploadIsClosed() throws Exception {
+        GridFsJournalContentStore store = new GridFsJournalContentStore(gridFsTemplate, databaseFactory, "journal_content");
+        ObjectId fileId = new ObjectId();
+        when(databaseFactory.getMongoDatabase()).thenReturn(database);
+        when(bucket.openUploadStream(anyString(), any(GridFSUploadOptions.class))).thenReturn(upload);
+        when(upload.getObjectId()).thenReturn(fileId);
+
+        try (MockedStatic<GridFSBuckets> buckets = mockStatic(GridFSBuckets.class)) {
+            buckets.when(() -> GridFSBuckets.create(database, "journal_content")).thenReturn(bucket);
+
+            assertThat(store.store(new ObjectId(), new ByteArrayInputStream(new byte[1024]))).isEqualTo(fileId.toHexString());
+        }
+        verify(upload).close();
+        verify(upload, never()).abort();
+    }
+}
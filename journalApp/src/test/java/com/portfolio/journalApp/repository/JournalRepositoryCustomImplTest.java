@@ -0,0 +1,106 @@
+package com.portfolio.journalApp.repository;
+
+import com.portfolio.journalApp.dto.JournalEntryDTO;
+import com.portfolio.journalApp.dto.UserJournalEntryDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JournalRepositoryCustomImplTest {
+
+    private static final ObjectId FIRST = new ObjectId("64b7f0c2a1b2c3d4e5f60701");
+    private static final ObjectId EMPTY = new ObjectId("64b7f0c2a1b2c3d4e5f60702");
+    private static final ObjectId LAST = new ObjectId("64b7f0c2a1b2c3d4e5f60703");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static Document entry(String title, LocalDateTime createdDate) {
+        return new Document("title", title).append("createdDate", Date.from(createdDate.atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    @Test
+    void testEntriesAreReadOneOwnerAtATime() {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 1, 12, 0);
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+        when(mongoTemplate.getCollectionName(JournalEntry.class)).thenReturn("journal_entries");
+        Map<ObjectId, Stream<Document>> entries = Map.of(
+                FIRST, Stream.of(entry("first a", day), entry("first b", day.plusDays(1))),
+                EMPTY, Stream.empty(),
+                LAST, Stream.of(entry("last a", day)));
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.stream(queries.capture(), eq(Document.class), eq("journal_entries"))).thenAnswer(invocation ->
+                entries.get(invocation.getArgument(0, Query.class).getQueryObject().get("user.$id")));
+        Map<ObjectId, String> usernames = new LinkedHashMap<>();
+        usernames.put(FIRST, "first");
+        usernames.put(EMPTY, "empty");
+        usernames.put(LAST, "last");
+
+        JournalRepositoryCustomImpl repository = new JournalRepositoryCustomImpl(mongoTemplate);
+        try (Stream<UserJournalEntryDTO> groups = repository.streamEntriesGroupedByOwner(usernames)) {
+            List<UserJournalEntryDTO> result = groups.toList();
+
+            assertThat(result).extracting(UserJournalEntryDTO::getUsername).containsExactly("first", "last");
+            assertThat(result.get(0).getJournalEntries()).extracting(JournalEntryDTO::getTitle).containsExactly("first a", "first b");
+            assertThat(result.get(0).getJournalEntries().get(1).getCreatedDate()).isEqualTo(day.plusDays(1));
+        }
+
+        // one owner per query, walked in the owner_createdDate index's (reversed) order
+        assertThat(queries.getAllValues()).hasSize(3).allSatisfy(query ->
+                assertThat(query.getSortObject()).isEqualTo(new Document("createdDate", 1).append("_id", 1)));
+        verify(mongoTemplate, never()).aggregateStream(any(), any(Class.class), any());
+    }
+
+    @Test
+    void testVersionZeroAlsoMatchesEntriesStoredWithoutAVersion() {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.findAndModify(queries.capture(), any(), any(), eq(JournalEntry.class))).thenReturn(new JournalEntry());
+        JournalEntry changes = new JournalEntry();
+        changes.setTitle("renamed");
+
+        JournalRepositoryCustomImpl repository = new JournalRepositoryCustomImpl(mongoTemplate);
+        repository.updateIfVersion(FIRST, LAST.toHexString(), 0, changes);
+        repository.updateIfVersion(FIRST, LAST.toHexString(), 3, changes);
+
+        assertThat(queries.getAllValues().get(0).getQueryObject().get("version"))
+                .isEqualTo(new Document("$in", Arrays.asList(0L, null)));
+        assertThat(queries.getAllValues().get(1).getQueryObject().get("version")).isEqualTo(3L);
+    }
+}
@@ -0,0 +1,182 @@
+package com.portfolio.journalApp.repository;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mongodb.DBRef;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import lombok.Getter;
+import lombok.Setter;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.mockito.Mockito;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One user's journal as the BSON documents MongoDB would store, read back through Spring Data's own
+ * mapping converter. References are fetched from these documents by a resolver that counts them, so
+ * tests and benchmarks can see how many documents loading an entity reads without a database. The
+ * same documents can also be read with the original eager mapping, see {@link EagerUser}.
+ */
+public class MappedJournal {
+
+    public static final String USERNAME = "mapped-user";
+
+    private final MappingMongoConverter converter;
+    private final Map<String, Map<Object, Document>> collections = new HashMap<>();
+    private final List<String> entryIds = new ArrayList<>();
+    private final String userId = new ObjectId().toHexString();
+    private long documentsRead;
+
+    public MappedJournal(int size) {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setInitialEntitySet(Set.of(User.class, JournalEntry.class, EagerUser.class, EagerJournalEntry.class));
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(new CountingDbRefResolver(), mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        User user = new User(userId, USERNAME, "password", List.of("USER"), new ArrayList<>());
+        LocalDateTime createdDate = LocalDateTime.of(2025, 6, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            JournalEntry entry = new JournalEntry();
+            entry.setId(new ObjectId().toHexString());
+            entry.setTitle("Entry " + i);
+            entry.setContent("Content of entry " + i);
+            entry.setCreatedDate(createdDate.minusHours(i));
+            entry.setVersion(1);
+            entry.setUser(user);
+            store("journal_entries", entry);
+            entryIds.add(entry.getId());
+            user.getEntries().add(entry);
+        }
+        store("users", user);
+    }
+
+    private void store(String collection, Object entity) {
+        Document document = new Document();
+        converter.write(entity, document);
+        collections.computeIfAbsent(collection, name -> new HashMap<>()).put(document.get("_id"), document);
+    }
+
+    // a findById: the document itself plus whatever its references pull in while mapping
+    public JournalEntry findEntry(String id) {
+        return converter.read(JournalEntry.class, fetch("journal_entries", new ObjectId(id)));
+    }
+
+    public User findUser() {
+        return converter.read(User.class, fetch("users", new ObjectId(userId)));
+    }
+
+    // the same lookups with both references eager, as the entities were first mapped
+    public EagerJournalEntry findEntryEagerly(String id) {
+        return converter.read(EagerJournalEntry.class, fetch("journal_entries", new ObjectId(id)));
+    }
+
+    public EagerUser findUserEagerly() {
+        return converter.read(EagerUser.class, fetch("users", new ObjectId(userId)));
+    }
+
+    // the document a save() would send
+    public Document write(Object entity) {
+        Document document = new Document();
+        converter.write(entity, document);
+        return document;
+    }
+
+    public List<String> getEntryIds() {
+        return entryIds;
+    }
+
+    public long getDocumentsRead() {
+        return documentsRead;
+    }
+
+    public void resetDocumentsRead() {
+        documentsRead = 0;
+    }
+
+    private Document fetch(String collection, Object id) {
+        Document document = collections.getOrDefault(collection, Map.of()).get(id);
+        if (document != null) {
+            documentsRead++;
+        }
+        return document;
+    }
+
+    // only ever read from the stored documents, so they need no collection of their own
+    @Getter
+    @Setter
+    public static class EagerUser {
+        @Id
+        private String id;
+        private String username;
+        @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+        private String password;
+        private List<String> roles;
+        @org.springframework.data.mongodb.core.mapping.DBRef
+        @JsonManagedReference
+        private List<EagerJournalEntry> entries = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class EagerJournalEntry {
+        @Id
+        private String id;
+        private String title;
+        private String content;
+        private LocalDateTime createdDate;
+        private long version;
+        @org.springframework.data.mongodb.core.mapping.DBRef
+        @JsonBackReference
+        private EagerUser user;
+    }
+
+    private class CountingDbRefResolver extends DefaultDbRefResolver {
+
+        CountingDbRefResolver() {
+            super(unusedDatabase());
+        }
+
+        // only asked for its exception translator: every fetch is answered from the stored documents
+        private static MongoDatabaseFactory unusedDatabase() {
+            MongoDatabaseFactory database = Mockito.mock(MongoDatabaseFactory.class);
+            Mockito.when(database.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+            return database;
+        }
+
+        @Override
+        public Document fetch(DBRef ref) {
+            return MappedJournal.this.fetch(ref.getCollectionName(), ref.getId());
+        }
+
+        @Override
+        public List<Document> bulkFetch(List<DBRef> refs) {
+            List<Document> documents = new ArrayList<>(refs.size());
+            for (DBRef ref : refs) {
+                Document document = fetch(ref);
+                if (document != null) {
+                    documents.add(document);
+                }
+            }
+            return documents;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.portfolio.journalApp.repository.inmemory;
+
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.utils.JournalCursor;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InMemoryJournalRepositoryTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final InMemoryJournalRepository journals = new InMemoryJournalRepository();
+    private final InMemoryUserRepository users = new InMemoryUserRepository(journals);
+
+    private User user(String username) {
+        return users.save(new User(null, username, "password", List.of("USER"), new ArrayList<>()));
+    }
+
+    private JournalEntry entry(User owner, String title, LocalDateTime createdDate) {
+        JournalEntry entry = new JournalEntry();
+        entry.setTitle(title);
+        entry.setContent("notes on " + title);
+        entry.setCreatedDate(createdDate);
+        entry.setUser(owner);
+        return journals.insert(entry);
+    }
+
+    @Test
+    void testCursorPagesFollowCreatedDateThenIdAndStayWithinOwner() {
+        User alice = user("alice");
+        User bob = user("bob");
+        JournalEntry first = entry(alice, "first", NOON);
+        JournalEntry sameTime = entry(alice, "same time", NOON);
+        JournalEntry last = entry(alice, "last", NOON.plusHours(1));
+        entry(bob, "not alice's", NOON.plusMinutes(30));
+        ObjectId aliceId = new ObjectId(alice.getId());
+        PageRequest newestFirst = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdDate", "id"));
+
+        Slice<JournalEntry> page = journals.findSliceByOwner(aliceId, newestFirst);
+        assertThat(page.getContent()).extracting(JournalEntry::getTitle).containsExactly("last", "same time");
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getContent()).allMatch(entry -> entry.getUser() == null);
+
+        Slice<JournalEntry> next = journals.findSliceByOwnerBefore(aliceId, sameTime.getCreatedDate(),
+                new ObjectId(sameTime.getId()), newestFirst);
+        assertThat(next.getContent()).extracting(JournalEntry::getId).containsExactly(first.getId());
+        assertThat(next.hasNext()).isFalse();
+
+        assertThat(journals.findAllByOwnerAndCreatedDateBetween(aliceId, NOON, NOON.plusHours(1), Sort.by("createdDate")))
+                .extracting(JournalEntry::getTitle).containsExactly("first", "same time", "last");
+        assertThat(journals.existsByOwnerAndCreatedDateInRange(aliceId, NOON.plusHours(1), NOON.plusHours(2))).isTrue();
+        assertThat(journals.existsByOwnerAndCreatedDateInRange(aliceId, NOON.plusMinutes(1), NOON.plusHours(1))).isFalse();
+        assertThat(journals.countByOwner(aliceId)).isEqualTo(3);
+        assertThat(journals.deleteByIdAndOwner(last.getId(), new ObjectId(bob.getId()))).isNull();
+    }
+
+    @Test
+    void testCursorWalkReachesEntriesWithoutCreatedDate() {
+        User alice = user("alice");
+        entry(alice, "dated", NOON);
+        entry(alice, "undated", null);
+        entry(alice, "also undated", null);
+        ObjectId aliceId = new ObjectId(alice.getId());
+
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            PageRequest onePerPage = PageRequest.of(0, 1, Sort.by(direction, "createdDate", "id"));
+            List<String> titles = new ArrayList<>();
+            Slice<JournalEntry> page = journals.findSliceByOwner(aliceId, onePerPage);
+            while (true) {
+                titles.add(page.getContent().get(0).getTitle());
+                if (!page.hasNext()) {
+                    break;
+                }
+                JournalCursor cursor = JournalCursor.decode(JournalCursor.after(page.getContent().get(0), direction).encode());
+                if (cursor.getCreatedDate() == null) {
+                    page = direction.isAscending()
+                            ? journals.findSliceByOwnerAfterUndated(aliceId, cursor.getId(), onePerPage)
+                            : journals.findSliceByOwnerBeforeUndated(aliceId, cursor.getId(), onePerPage);
+                } else {
+                    page = direction.isAscending()
+                            ? journals.findSliceByOwnerAfter(aliceId, cursor.getCreatedDate(), cursor.getId(), onePerPage)
+                            : journals.findSliceByOwnerBefore(aliceId, cursor.getCreatedDate(), cursor.getId(), onePerPage);
+                }
+            }
+
+            assertThat(titles).as(direction.name()).containsExactlyElementsOf(direction.isAscending()
+                    ? List.of("undated", "also undated", "dated")
+                    : List.of("dated", "also undated", "undated"));
+        }
+    }
+
+    @Test
+    void testEntryReferencesResolveAndUsernamesStayUnique() {
+        User alice = user("alice");
+        JournalEntry entry = entry(alice, "kept", NOON);
+        users.pushEntryRefs(alice.getId(), List.of(entry.getId()));
+
+        assertThat(users.findByUsername("alice").getEntries()).extracting(JournalEntry::getTitle).containsExactly("kept");
+        assertThat(users.findWithoutEntriesByUsername("alice").getEntries()).isEmpty();
+
+        User bob = user("bob");
+        assertThatThrownBy(() -> users.updateProfile(bob.getId(), Map.of("username", "alice"), false))
+                .isInstanceOf(DuplicateKeyException.class);
+        User renamed = users.updateProfile(alice.getId(), Map.of("username", "alicia"), true);
+        assertThat(renamed.getTokenVersion()).isEqualTo(1);
+        assertThat(users.findByUsername("alice")).isNull();
+        assertThat(users.findByUsername("alicia").getEntries()).hasSize(1);
+    }
+
+    @Test
+    void testContentInTheContentStoreIsOnlyFoundByTitle() {
+        User alice = user("alice");
+        entry(alice, "garden", NOON);
+        JournalEntry large = new JournalEntry();
+        large.setTitle("holiday");
+        large.setContentFileId(new ObjectId().toHexString());
+        large.setContentLength(20_000L);
+        large.setCreatedDate(NOON.plusHours(1));
+        large.setUser(alice);
+        journals.insert(large);
+        ObjectId owner = new ObjectId(alice.getId());
+
+        assertThat(journals.searchByOwner(owner, "holiday", PageRequest.of(0, 10)))
+                .extracting(JournalEntry::getTitle).containsExactly("holiday");
+        assertThat(journals.searchByOwner(owner, "notes", PageRequest.of(0, 10)))
+                .extracting(JournalEntry::getTitle).containsExactly("garden");
+    }
+}
@@ -0,0 +1,117 @@
+package com.portfolio.journalApp.security;
+
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository repository;
+
+    private PrincipalCache principalCache;
+
+    private CustomUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(5));
+        TokenVersionRegistry tokenVersionRegistry = new TokenVersionRegistry(repository, 100, Duration.ofMinutes(1));
+        service = new CustomUserDetailsService(repository, principalCache, tokenVersionRegistry);
+    }
+
+    @Test
+    void testAuthenticatedUserIsLoadedOnceUntilInvalidated() {
+        User user = new User("1", "username1", "password1", List.of("USER"), new ArrayList<>());
+        when(repository.findWithoutEntriesByUsername("username1")).thenReturn(user);
+
+        UserDetails first = service.loadAuthenticatedUser("username1");
+        UserDetails second = service.loadAuthenticatedUser("username1");
+
+        assertThat(second.getUsername()).isEqualTo(first.getUsername()).isEqualTo("username1");
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(principalCache.stats().hitCount()).isEqualTo(1);
+        verify(repository, times(1)).findWithoutEntriesByUsername("username1");
+
+        principalCache.invalidate("username1");
+        service.loadAuthenticatedUser("username1");
+        verify(repository, times(2)).findWithoutEntriesByUsername("username1");
+        verify(repository, never()).findByUsername(any());
+    }
+
+    @Test
+    void testInvalidationDuringLoadIsNotOverwritten() {
+        User stale = new User("1", "username1", "password1", List.of("USER", "ADMIN"), new ArrayList<>());
+        User current = new User("1", "username1", "password1", List.of("USER"), new ArrayList<>());
+        when(repository.findWithoutEntriesByUsername("username1")).thenAnswer(invocation -> {
+            // the admin role is removed after this read and before the load is cached
+            principalCache.invalidate("username1");
+            return stale;
+        }).thenReturn(current);
+
+        assertThat(service.loadAuthenticatedUser("username1").getAuthorities()).hasSize(2);
+        assertThat(service.loadAuthenticatedUser("username1").getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verify(repository, times(2)).findWithoutEntriesByUsername("username1");
+    }
+
+    @Test
+    void testCachedPrincipalKeepsNoPasswordHashAndIsPublishedAsMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        principalCache.bindTo(registry);
+        User user = new User("1", "username1", "$2a$10$hash", List.of("USER"), new ArrayList<>());
+        when(repository.findWithoutEntriesByUsername("username1")).thenReturn(user);
+
+        CustomUserDetails first = (CustomUserDetails) service.loadAuthenticatedUser("username1");
+        first.getUser().setUsername("changed");
+        CustomUserDetails second = (CustomUserDetails) service.loadAuthenticatedUser("username1");
+
+        assertThat(second.getPassword()).isNull();
+        assertThat(second.getUser().getId()).isEqualTo("1");
+        assertThat(second.getUsername()).isEqualTo("username1");
+        assertThat(registry.get("cache.gets").tag("cache", "principals").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", "principals").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnknownUserIsNotCached() {
+        when(repository.findWithoutEntriesByUsername("missing")).thenReturn(null);
+
+        assertThatThrownBy(() -> service.loadAuthenticatedUser("missing")).isInstanceOf(UsernameNotFoundException.class);
+        assertThat(principalCache.size()).isZero();
+    }
+
+    @Test
+    void testSelfContainedUserIsCheckedAgainstTokenVersion() {
+        User state = new User();
+        state.setId("1");
+        state.setUsername("renamed");
+        state.setTokenVersion(3);
+        when(repository.findTokenStateById("1")).thenReturn(state);
+
+        UserDetails userDetails = service.loadSelfContainedUser("1", List.of("USER"), 3);
+
+        assertThat(userDetails.getUsername()).isEqualTo("renamed");
+        assertThat(userDetails.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThatThrownBy(() -> service.loadSelfContainedUser("1", List.of("USER"), 2))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(repository, times(1)).findTokenStateById("1");
+        verify(repository, never()).findByUsername(any());
+    }
+}
@@ -0,0 +1,74 @@
+package com.portfolio.journalApp.security;
+
+import com.portfolio.journalApp.exceptions.LoginRejectedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoginExecutorTest {
+
+    @Test
+    void testLoginsBeyondQueueAreRejected() throws Exception {
+        LoginExecutor executor = new LoginExecutor(1, 1, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AuthenticationManager slowManager = authentication -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return authentication;
+        };
+
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> authenticate(executor, slowManager));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> authenticate(executor, slowManager));
+        while (executor.getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> executor.authenticate(slowManager, token()))
+                .isInstanceOf(LoginRejectedException.class);
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+        assertThat(executor.getCompletedCount()).isEqualTo(2);
+        executor.shutdown();
+    }
+
+    @Test
+    void testAuthenticationFailuresArePassedThrough() {
+        LoginExecutor executor = new LoginExecutor(1, 1, 5_000);
+        AuthenticationManager failingManager = authentication -> {
+            throw new BadCredentialsException("Bad credentials");
+        };
+
+        assertThatThrownBy(() -> executor.authenticate(failingManager, token()))
+                .isInstanceOf(BadCredentialsException.class);
+        executor.shutdown();
+    }
+
+    private static UsernamePasswordAuthenticationToken token() {
+        return new UsernamePasswordAuthenticationToken("username1", "password1");
+    }
+
+    private static void authenticate(LoginExecutor executor, AuthenticationManager manager) {
+        try {
+            executor.authenticate(manager, token());
+        } catch (LoginRejectedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
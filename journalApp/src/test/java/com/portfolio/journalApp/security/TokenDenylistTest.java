@@ -0,0 +1,54 @@
+package com.portfolio.journalApp.security;
+
+import com.portfolio.journalApp.entity.RevokedToken;
+import com.portfolio.journalApp.repository.inmemory.InMemoryRevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenDenylistTest {
+
+    private final InMemoryRevokedTokenRepository repository = new InMemoryRevokedTokenRepository();
+    private final TokenDenylist denylist = new TokenDenylist(repository, 10_000, 0.01);
+
+    private static Date inAnHour() {
+        return new Date(System.currentTimeMillis() + 3_600_000);
+    }
+
+    @Test
+    void testRevocationsDuringRebuildsAreKept() throws Exception {
+        AtomicBoolean revoking = new AtomicBoolean(true);
+        CompletableFuture<Void> rebuilds = CompletableFuture.runAsync(() -> {
+            while (revoking.get()) {
+                denylist.rebuild();
+            }
+        });
+        for (int i = 0; i < 2_000; i++) {
+            denylist.revoke("token-" + i, inAnHour());
+        }
+        revoking.set(false);
+        rebuilds.get();
+
+        for (int i = 0; i < 2_000; i++) {
+            assertThat(denylist.isRevoked("token-" + i)).as("token-" + i).isTrue();
+        }
+        assertThat(denylist.isRevoked("never-revoked")).isFalse();
+    }
+
+    @Test
+    void testRevocationsOfOtherInstancesArePickedUpByPolling() {
+        // stored by another instance sharing the collection
+        LocalDateTime now = LocalDateTime.now();
+        repository.save(new RevokedToken("elsewhere", now.plusHours(1), now));
+        assertThat(denylist.isRevoked("elsewhere")).isFalse();
+
+        denylist.pollRevocations();
+
+        assertThat(denylist.isRevoked("elsewhere")).isTrue();
+    }
+}
@@ -0,0 +1,141 @@
+package com.portfolio.journalApp.service;
+
+import com.mongodb.DBRef;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.repository.JournalRepository;
+import com.portfolio.journalApp.repository.UserRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parallel creates and deletes against a real MongoDB, started in a container (skipped without
+ * Docker): every write must end up in the user's entry references, none may be lost to a
+ * concurrent write. Also covers documents written before entries had a version.
+ */
+@SpringBootTest(properties = {
+        "jwt.secret=concurrency-test-secret-0123456789abcdef0123456789abcdef",
+        "app.admin.username=admin",
+        "app.admin.password=admin-password",
+        "app.admin.email=admin@localhost"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class JournalServiceConcurrencyTest {
+
+    private static final int DEVICES = 8;
+    private static final int ENTRIES = 200;
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> MONGO.getReplicaSetUrl("journaldb"));
+    }
+
+    @Autowired
+    private JournalService journalService;
+
+    @Autowired
+    private JournalRepository journalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private String username;
+
+    @BeforeEach
+    void createUser() {
+        username = "concurrency-" + new ObjectId().toHexString();
+        userRepository.save(new User(null, username, "password", List.of("USER"), new ArrayList<>()));
+    }
+
+    @AfterEach
+    void deleteUser() {
+        User user = userRepository.findWithoutEntriesByUsername(username);
+        journalRepository.findAllByOwner(new ObjectId(user.getId()), Sort.unsorted())
+                .forEach(journalRepository::delete);
+        userRepository.deleteByUsername(username);
+    }
+
+    @Test
+    void parallelCreatesAndDeletesLoseNoReferences() throws Exception {
+        List<JournalEntry> created = runInParallel(ENTRIES, i -> {
+            JournalEntry entry = new JournalEntry();
+            entry.setTitle("entry " + i);
+            return journalService.saveEntry(entry, username);
+        });
+
+        assertThat(userRepository.findByUsername(username).getEntries()).hasSize(ENTRIES);
+
+        runInParallel(ENTRIES / 2, i -> journalService.deleteEntry(created.get(i).getId(), username));
+
+        User user = userRepository.findByUsername(username);
+        assertThat(user.getEntries()).hasSize(ENTRIES / 2);
+        assertThat(journalRepository.countByOwner(new ObjectId(user.getId()))).isEqualTo(ENTRIES / 2);
+    }
+
+    @Test
+    void entryStoredWithoutAVersionCanBeUpdated() throws Exception {
+        User user = userRepository.findWithoutEntriesByUsername(username);
+        ObjectId entryId = new ObjectId();
+        mongoTemplate.insert(new Document("_id", entryId)
+                .append("title", "before versions")
+                .append("content", "old content")
+                .append("user", new DBRef("users", new ObjectId(user.getId()))), mongoTemplate.getCollectionName(JournalEntry.class));
+
+        JournalEntry changes = new JournalEntry();
+        changes.setContent("new content");
+        JournalEntry updated = journalService.updateEntry(entryId.toHexString(), changes, username);
+
+        assertThat(updated.getVersion()).isEqualTo(1);
+        JournalEntry stored = journalRepository.findById(entryId.toHexString()).orElseThrow();
+        assertThat(stored.getContent()).isEqualTo("new content");
+        assertThat(stored.getVersion()).isEqualTo(1);
+    }
+
+    private <T> List<T> runInParallel(int count, IndexedTask<T> task) throws Exception {
+        ExecutorService devices = Executors.newFixedThreadPool(DEVICES);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(devices.submit(() -> task.run(index)));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            devices.shutdown();
+        }
+    }
+
+    private interface IndexedTask<T> {
+        T run(int index) throws Exception;
+    }
+}
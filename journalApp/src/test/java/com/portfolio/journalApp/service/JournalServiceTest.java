@@ -0,0 +1,374 @@
+package com.portfolio.journalApp.service;
+
+import com.portfolio.journalApp.dto.AdminJournalPageDTO;
+import com.portfolio.journalApp.dto.CursorPageDTO;
+import com.portfolio.journalApp.dto.JournalBatchOperationDTO;
+import com.portfolio.journalApp.dto.JournalBatchResultDTO;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.exceptions.ContentTooLargeException;
+import com.portfolio.journalApp.repository.JournalContentStore;
+import com.portfolio.journalApp.repository.JournalRepository;
+import com.portfolio.journalApp.repository.UserRepository;
+import com.portfolio.journalApp.utils.JournalCursor;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JournalServiceTest {
+
+    private static final String OWNER_ID = "64b7f0c2a1b2c3d4e5f60718";
+
+    @InjectMocks
+    private JournalService service;
+
+    @Mock
+    private JournalRepository repository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JournalStatsService statsService;
+
+    @Mock
+    private JournalContentStore contentStore;
+
+    private User owner() {
+        return new User(OWNER_ID, "username1", "password1", List.of("USER"), new ArrayList<>());
+    }
+
+    @Test
+    void testPaginatedEntriesArePagedByRepository() {
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        when(repository.findAllByOwner(eq(new ObjectId(OWNER_ID)), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(new JournalEntry())));
+
+        Page<JournalEntry> result = service.getPaginatedEntries("username1", 2, 10, "desc");
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository).findAllByOwner(eq(new ObjectId(OWNER_ID)), pageable.capture());
+        assertThat(pageable.getValue().getOffset()).isEqualTo(20);
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(10);
+        assertThat(pageable.getValue().getSort().getOrderFor("createdDate").getDirection())
+                .isEqualTo(Sort.Direction.DESC);
+        assertThat(result.getContent()).hasSize(1);
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void testDateRangeIsFilteredByRepository() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 31, 23, 59, 59);
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+
+        service.getEntriesByDateRange("username1", start, end);
+
+        verify(repository).findAllByOwnerAndCreatedDateBetween(eq(new ObjectId(OWNER_ID)), eq(start), eq(end),
+                eq(Sort.by(Sort.Direction.DESC, "createdDate", "id")));
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void testUnknownUserHasNoEntries() {
+        when(userRepository.findWithoutEntriesByUsername("missing")).thenReturn(null);
+
+        assertThat(service.getAllEntries("missing", "asc")).isEmpty();
+        assertThat(service.getPaginatedEntries("missing", 0, 10, "asc")).isEmpty();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testCursorContinuesAfterLastEntryOfPreviousPage() {
+        JournalEntry last = new JournalEntry();
+        last.setId("64b7f0c2a1b2c3d4e5f60799");
+        last.setCreatedDate(LocalDateTime.of(2025, 3, 1, 10, 15, 30));
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        when(repository.findSliceByOwner(eq(new ObjectId(OWNER_ID)), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(last), Pageable.ofSize(1), true));
+
+        CursorPageDTO<JournalEntry> first = service.getEntriesByCursor("username1", "", 1, "desc", false);
+
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getTotalElements()).isNull();
+        when(repository.findSliceByOwnerBefore(any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(), Pageable.ofSize(1), false));
+
+        CursorPageDTO<JournalEntry> second = service.getEntriesByCursor("username1", first.getNextCursor(), 1, "asc", false);
+
+        verify(repository).findSliceByOwnerBefore(eq(new ObjectId(OWNER_ID)), eq(last.getCreatedDate()),
+                eq(new ObjectId(last.getId())), any(Pageable.class));
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        verify(repository, never()).countByOwner(any());
+    }
+
+    @Test
+    void testCursorOfEntryWithoutCreatedDateContinuesOnTheId() {
+        JournalEntry undated = new JournalEntry();
+        undated.setId("64b7f0c2a1b2c3d4e5f60799");
+        String cursor = JournalCursor.after(undated, Sort.Direction.DESC).encode();
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        when(repository.findSliceByOwnerBeforeUndated(eq(new ObjectId(OWNER_ID)), eq(new ObjectId(undated.getId())), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(), Pageable.ofSize(1), false));
+
+        CursorPageDTO<JournalEntry> page = service.getEntriesByCursor("username1", cursor, 1, "desc", false);
+
+        assertThat(JournalCursor.decode(cursor).getCreatedDate()).isNull();
+        assertThat(page.isHasNext()).isFalse();
+        verify(repository, never()).findSliceByOwnerBefore(any(), any(), any(), any());
+    }
+
+    @Test
+    void testAdminPageWithoutEntriesStillTellsWhetherMoreUsersFollow() {
+        when(userRepository.findAllUsernames(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(owner()), PageRequest.of(0, 1), true));
+        when(repository.streamEntriesGroupedByOwner(Map.of(new ObjectId(OWNER_ID), "username1"))).thenReturn(Stream.empty());
+
+        try (AdminJournalPageDTO page = service.getAllEntriesForAdmin(0, 1)) {
+            assertThat(page.getGroups()).isEmpty();
+            assertThat(page.isHasNext()).isTrue();
+        }
+        assertThatThrownBy(() -> service.getAllEntriesForAdmin(0, 201)).isInstanceOf(IllegalArgumentException.class);
+        verify(userRepository, times(1)).findAllUsernames(any());
+    }
+
+    @Test
+    void testSearchUsesTextIndexOfOwner() {
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        when(repository.searchByOwner(eq(new ObjectId(OWNER_ID)), eq("gratitude"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(new JournalEntry())));
+
+        Page<JournalEntry> result = service.searchEntries("username1", "  gratitude ", 1, 5);
+
+        verify(repository).searchByOwner(new ObjectId(OWNER_ID), "gratitude", PageRequest.of(1, 5));
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(service.searchEntries("username1", " ", 0, 5)).isEmpty();
+    }
+
+    @Test
+    void testBatchSkipsInvalidAndForeignOperationsAndWritesTheRestAtOnce() {
+        ReflectionTestUtils.setField(service, "maxBatchOperations", 500);
+        String owned = "64b7f0c2a1b2c3d4e5f60701";
+        String foreign = "64b7f0c2a1b2c3d4e5f60702";
+        JournalEntry ownedEntry = new JournalEntry();
+        ownedEntry.setId(owned);
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        when(repository.findIdsByOwnerAndIdIn(eq(new ObjectId(OWNER_ID)), any())).thenReturn(List.of(ownedEntry));
+        when(repository.bulkWriteForOwner(eq(new ObjectId(OWNER_ID)), any(), any())).thenReturn(Map.of());
+
+        List<JournalBatchResultDTO> results = service.applyBatch("username1", List.of(
+                new JournalBatchOperationDTO(JournalBatchOperationDTO.Type.CREATE, null, "Offline note", "written on the train"),
+                new JournalBatchOperationDTO(JournalBatchOperationDTO.Type.CREATE, null, " ", "no title"),
+                new JournalBatchOperationDTO(JournalBatchOperationDTO.Type.UPDATE, foreign, "Not mine", null),
+                new JournalBatchOperationDTO(JournalBatchOperationDTO.Type.DELETE, owned, null, null),
+                new JournalBatchOperationDTO(JournalBatchOperationDTO.Type.UPDATE, owned, "Too late", null)));
+
+        assertThat(results).extracting(JournalBatchResultDTO::isSuccess).containsExactly(true, false, false, true, false);
+        assertThat(results.get(2).getError()).isEqualTo("Entry not found or access denied");
+        String createdId = results.get(0).getId();
+        assertThat(ObjectId.isValid(createdId)).isTrue();
+
+        ArgumentCaptor<List<JournalBatchOperationDTO>> writes = ArgumentCaptor.forClass(List.class);
+        verify(repository).findIdsByOwnerAndIdIn(eq(new ObjectId(OWNER_ID)), any());
+        verify(repository).bulkWriteForOwner(eq(new ObjectId(OWNER_ID)), writes.capture(), any());
+        assertThat(writes.getValue()).extracting(JournalBatchOperationDTO::getId).containsExactly(createdId, owned);
+        verify(userRepository).pushEntryRefs(OWNER_ID, List.of(createdId));
+        verify(userRepository).pullEntryRefs(OWNER_ID, List.of(owned));
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void testBatchGivesIdsOnlyToValidCreatesAndReportsMissingOperations() {
+        ReflectionTestUtils.setField(service, "maxBatchOperations", 500);
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        when(repository.bulkWriteForOwner(eq(new ObjectId(OWNER_ID)), any(), any())).thenReturn(Map.of());
+
+        List<JournalBatchResultDTO> results = service.applyBatch("username1", Arrays.asList(
+                new JournalBatchOperationDTO(JournalBatchOperationDTO.Type.CREATE, "64b7f0c2a1b2c3d4e5f60701", " ", "no title"),
+                null,
+                new JournalBatchOperationDTO(JournalBatchOperationDTO.Type.CREATE, null, "Offline note", null)));
+
+        assertThat(results).extracting(JournalBatchResultDTO::isSuccess).containsExactly(false, false, true);
+        assertThat(results.get(0).getId()).isNull();
+        assertThat(results.get(1).getError()).isEqualTo("Operation is required");
+        assertThat(results.get(1).getIndex()).isEqualTo(1);
+        assertThat(ObjectId.isValid(results.get(2).getId())).isTrue();
+        verify(userRepository).pushEntryRefs(OWNER_ID, List.of(results.get(2).getId()));
+    }
+
+    @Test
+    void testParallelCreatesEachPushTheirOwnReference() throws Exception {
+        AtomicInteger ids = new AtomicInteger();
+        Queue<String> pushed = new ConcurrentLinkedQueue<>();
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenAnswer(invocation -> owner());
+        when(repository.insert(any(JournalEntry.class))).thenAnswer(invocation -> {
+            JournalEntry entry = invocation.getArgument(0);
+            entry.setId(String.format("64b7f0c2a1b2c3d4e5%06d", ids.incrementAndGet()));
+            return entry;
+        });
+        doAnswer(invocation -> pushed.addAll(invocation.getArgument(1)))
+                .when(userRepository).pushEntryRefs(eq(OWNER_ID), any());
+
+        ExecutorService devices = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JournalEntry>> creates = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                JournalEntry entry = new JournalEntry();
+                entry.setTitle("entry " + i);
+                creates.add(devices.submit(() -> service.saveEntry(entry, "username1")));
+            }
+            for (Future<JournalEntry> create : creates) {
+                create.get();
+            }
+        } finally {
+            devices.shutdown();
+        }
+
+        assertThat(pushed).hasSize(200).doesNotHaveDuplicates();
+        verify(userRepository, never()).findByUsername(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testDeleteIsScopedToOwnerAndPullsReference() {
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        JournalEntry deleted = new JournalEntry();
+        deleted.setCreatedDate(LocalDateTime.of(2025, 2, 3, 8, 0));
+        when(repository.deleteByIdAndOwner("64b7f0c2a1b2c3d4e5f60701", new ObjectId(OWNER_ID))).thenReturn(deleted);
+
+        assertThat(service.deleteEntry("64b7f0c2a1b2c3d4e5f60701", "username1")).isTrue();
+        assertThat(service.deleteEntry("64b7f0c2a1b2c3d4e5f60702", "username1")).isFalse();
+
+        verify(userRepository).pullEntryRefs(OWNER_ID, List.of("64b7f0c2a1b2c3d4e5f60701"));
+        verify(statsService).entriesDeleted(new ObjectId(OWNER_ID), List.of(deleted.getCreatedDate()));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateBumpsEntryAndJournalVersion() throws Exception {
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        JournalEntry existing = new JournalEntry();
+        existing.setId("64b7f0c2a1b2c3d4e5f60701");
+        existing.setTitle("old");
+        existing.setVersion(3);
+        when(repository.findByIdAndOwner(existing.getId(), new ObjectId(OWNER_ID))).thenReturn(Optional.of(existing));
+        when(repository.updateIfVersion(eq(new ObjectId(OWNER_ID)), eq(existing.getId()), eq(3L), any()))
+                .thenReturn(new JournalEntry());
+        JournalEntry change = new JournalEntry();
+        change.setTitle("new");
+
+        JournalEntry updated = service.updateEntry(existing.getId(), change, "username1");
+
+        assertThat(updated.getTitle()).isEqualTo("new");
+        assertThat(updated.getVersion()).isEqualTo(4);
+        assertThat(updated.getLastModifiedDate()).isNotNull();
+        verify(userRepository).touchJournal(OWNER_ID);
+    }
+
+    @Test
+    void testLargeContentIsKeptOutOfTheEntry() {
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        when(contentStore.store(eq(new ObjectId(OWNER_ID)), any())).thenReturn("file-1");
+        when(repository.insert(any(JournalEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        JournalEntry entry = new JournalEntry();
+        entry.setId("64b7f0c2a1b2c3d4e5f60702");
+        entry.setTitle("long");
+        entry.setContent("x".repeat(20_000));
+
+        JournalEntry saved = service.saveEntry(entry, "username1");
+
+        assertThat(saved.getContent()).isNull();
+        assertThat(saved.getContentFileId()).isEqualTo("file-1");
+        assertThat(saved.getContentLength()).isEqualTo(20_000);
+    }
+
+    @Test
+    void testReplaceContentStreamsUploadsUpToTheLimit() throws Exception {
+        ReflectionTestUtils.setField(service, "contentMaxSize", DataSize.ofKilobytes(32));
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        JournalEntry existing = new JournalEntry();
+        existing.setId("64b7f0c2a1b2c3d4e5f60703");
+        existing.setContentFileId("file-1");
+        when(repository.findByIdAndOwner(existing.getId(), new ObjectId(OWNER_ID))).thenReturn(Optional.of(existing));
+        JournalEntry previous = new JournalEntry();
+        previous.setContentFileId("file-1");
+        when(repository.updateIfVersion(eq(new ObjectId(OWNER_ID)), eq(existing.getId()), eq(0L), any())).thenReturn(previous);
+        when(contentStore.store(eq(new ObjectId(OWNER_ID)), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, InputStream.class).readAllBytes();
+            return "file-2";
+        });
+
+        JournalEntry updated = service.replaceContent(existing.getId(), "username1",
+                new ByteArrayInputStream(new byte[20_000]), -1);
+
+        assertThat(updated.getContentFileId()).isEqualTo("file-2");
+        assertThat(updated.getContentLength()).isEqualTo(20_000);
+        verify(contentStore).delete(List.of("file-1"));
+
+        assertThatThrownBy(() -> service.replaceContent(existing.getId(), "username1",
+                new ByteArrayInputStream(new byte[40_000]), -1))
+                .isInstanceOf(ContentTooLargeException.class);
+        verify(repository, times(1)).updateIfVersion(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testReplacementThatLosesARaceDropsItsOwnFile() throws Exception {
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(owner());
+        JournalEntry existing = new JournalEntry();
+        existing.setId("64b7f0c2a1b2c3d4e5f60703");
+        existing.setContentFileId("file-1");
+        existing.setVersion(2);
+        when(repository.findByIdAndOwner(existing.getId(), new ObjectId(OWNER_ID))).thenReturn(Optional.of(existing));
+        // another request replaced the content after this one read version 2
+        when(repository.updateIfVersion(eq(new ObjectId(OWNER_ID)), eq(existing.getId()), eq(2L), any())).thenReturn(null);
+        when(contentStore.store(eq(new ObjectId(OWNER_ID)), any())).thenReturn("file-2");
+
+        assertThatThrownBy(() -> service.replaceContent(existing.getId(), "username1",
+                new ByteArrayInputStream(new byte[20_000]), -1))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+
+        // file-1 belongs to the winner's write to delete, file-2 was never referenced
+        verify(contentStore).delete(List.of("file-2"));
+        verify(contentStore, never()).delete(List.of("file-1"));
+        verify(userRepository, never()).touchJournal(any());
+    }
+}
@@ -0,0 +1,188 @@
+package com.portfolio.journalApp.service;
+
+import com.portfolio.journalApp.dto.StatsRebuildStatusDTO;
+import com.portfolio.journalApp.entity.JournalActivity;
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.JournalStats;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.repository.JournalActivityRepository;
+import com.portfolio.journalApp.repository.JournalRepository;
+import com.portfolio.journalApp.repository.JournalStatsRepository;
+import com.portfolio.journalApp.repository.UserRepository;
+import com.portfolio.journalApp.utils.ActivityCalendar;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JournalStatsServiceTest {
+
+    private static final ObjectId OWNER_ID = new ObjectId("64b7f0c2a1b2c3d4e5f60718");
+
+    @InjectMocks
+    private JournalStatsService service;
+
+    @Mock
+    private JournalStatsRepository statsRepository;
+
+    @Mock
+    private JournalRepository journalRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JournalActivityRepository activityRepository;
+
+    @Mock
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    private JournalEntry createdAt(LocalDateTime createdDate) {
+        JournalEntry entry = new JournalEntry();
+        entry.setCreatedDate(createdDate);
+        return entry;
+    }
+
+    @Test
+    void testUserWithoutStatisticsIsCountedFromEntriesOnce() {
+        LocalDateTime monday = LocalDateTime.of(2025, 2, 3, 9, 0);
+        when(statsRepository.recordEntries(eq(OWNER_ID.toHexString()), any(), eq(1))).thenReturn(null);
+        when(journalRepository.streamCreatedDatesByOwner(OWNER_ID)).thenReturn(Stream.of(
+                createdAt(monday), createdAt(monday.plusDays(2)), createdAt(monday.minusMonths(1)), createdAt(null)));
+        when(statsRepository.replaceIfUnchanged(any(JournalStats.class), isNull())).thenReturn(true);
+
+        service.entriesCreated(OWNER_ID, List.of(monday.plusDays(2)));
+
+        verify(statsRepository).replaceIfUnchanged(argThat(stats -> stats.getTotalEntries() == 4
+                && stats.getWeeklyCounts().get("2025-W06") == 2
+                && stats.getMonthlyCounts().get("2025-01") == 1
+                && stats.getFirstEntryDate().equals(monday.minusMonths(1))
+                && stats.getLastEntryDate().equals(monday.plusDays(2))), isNull());
+        // the counted days are set on top of whatever is stored, never written over it
+        verify(activityRepository).markDays(OWNER_ID.toHexString(),
+                Set.of(monday.toLocalDate(), monday.plusDays(2).toLocalDate(), monday.minusMonths(1).toLocalDate()));
+        verify(activityRepository, never()).deleteAllByUserId(any());
+        verify(activityRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testDayClearedWhileAnEntryWasCreatedOnItIsMarkedAgain() {
+        LocalDateTime monday = LocalDateTime.of(2025, 2, 3, 9, 0);
+        LocalDate day = monday.toLocalDate();
+        when(statsRepository.recordEntries(OWNER_ID.toHexString(), List.of(monday), -1))
+                .thenReturn(new JournalStats(OWNER_ID.toHexString(), 2, monday.minusDays(7), monday.plusDays(7), new HashMap<>(), new HashMap<>(), 3));
+        // the day is empty when checked, and a create lands on it before its bit is cleared
+        when(journalRepository.existsByOwnerAndCreatedDateInRange(OWNER_ID, day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+                .thenReturn(false, true);
+
+        service.entriesDeleted(OWNER_ID, List.of(monday));
+
+        InOrder inOrder = inOrder(activityRepository);
+        inOrder.verify(activityRepository).clearDays(OWNER_ID.toHexString(), Set.of(day));
+        inOrder.verify(activityRepository).markDays(OWNER_ID.toHexString(), Set.of(day));
+    }
+
+    @Test
+    void testRebuildClearsStoredDaysWithoutEntries() {
+        LocalDateTime monday = LocalDateTime.of(2025, 2, 3, 9, 0);
+        LocalDate stale = monday.toLocalDate().plusDays(1);
+        long[] words = new long[ActivityCalendar.WORDS_PER_YEAR];
+        words[0] = ActivityCalendar.bitMask(monday.toLocalDate()) | ActivityCalendar.bitMask(stale);
+        when(journalRepository.streamCreatedDatesByOwner(OWNER_ID)).thenReturn(Stream.of(createdAt(monday)));
+        when(statsRepository.replaceIfUnchanged(any(JournalStats.class), isNull())).thenReturn(true);
+        when(activityRepository.findAllByUserId(OWNER_ID.toHexString()))
+                .thenReturn(List.of(JournalActivity.of(OWNER_ID.toHexString(), 2025, words)));
+
+        service.rebuild(OWNER_ID);
+
+        verify(activityRepository).markDays(OWNER_ID.toHexString(), Set.of(monday.toLocalDate()));
+        verify(activityRepository).clearDays(OWNER_ID.toHexString(), Set.of(stale));
+    }
+
+    @Test
+    void testDeletingLastEntryLooksUpNewLastDate() {
+        LocalDateTime first = LocalDateTime.of(2025, 1, 1, 8, 0);
+        LocalDateTime last = LocalDateTime.of(2025, 3, 1, 8, 0);
+        LocalDateTime previous = LocalDateTime.of(2025, 2, 20, 8, 0);
+        when(statsRepository.recordEntries(OWNER_ID.toHexString(), List.of(last), -1))
+                .thenReturn(new JournalStats(OWNER_ID.toHexString(), 2, first, last, new HashMap<>(), new HashMap<>(), 7));
+        when(journalRepository.findSliceByOwner(eq(OWNER_ID), any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(1);
+            boolean ascending = pageable.getSort().getOrderFor("createdDate").isAscending();
+            return new SliceImpl<>(List.of(createdAt(ascending ? first : previous)));
+        });
+
+        service.entriesDeleted(OWNER_ID, List.of(last));
+
+        verify(statsRepository).updateEntryDates(OWNER_ID.toHexString(), first, previous);
+
+        service.entriesDeleted(OWNER_ID, List.of(LocalDateTime.of(2025, 2, 1, 8, 0)));
+        verify(statsRepository, times(1)).updateEntryDates(any(), any(), any());
+    }
+
+    @Test
+    void testRecountStartsOverWhenAWriteCountedItselfMeanwhile() {
+        LocalDateTime monday = LocalDateTime.of(2025, 2, 3, 9, 0);
+        JournalStats stored = new JournalStats(OWNER_ID.toHexString(), 1, monday, monday, new HashMap<>(), new HashMap<>(), 5);
+        JournalStats changed = new JournalStats(OWNER_ID.toHexString(), 2, monday, monday, new HashMap<>(), new HashMap<>(), 6);
+        when(statsRepository.findById(OWNER_ID.toHexString())).thenReturn(Optional.of(stored), Optional.of(changed));
+        when(journalRepository.streamCreatedDatesByOwner(OWNER_ID)).thenAnswer(invocation -> Stream.of(createdAt(monday)))
+                .thenAnswer(invocation -> Stream.of(createdAt(monday), createdAt(monday.plusDays(1))));
+        // an entry was created, and counted with $inc, while the first recount was reading entries
+        when(statsRepository.replaceIfUnchanged(any(JournalStats.class), eq(5L))).thenReturn(false);
+        when(statsRepository.replaceIfUnchanged(any(JournalStats.class), eq(6L))).thenReturn(true);
+
+        JournalStats rebuilt = service.rebuild(OWNER_ID);
+
+        assertThat(rebuilt.getTotalEntries()).isEqualTo(2);
+        verify(journalRepository, times(2)).streamCreatedDatesByOwner(OWNER_ID);
+    }
+
+    @Test
+    void testRebuildAllRunsInTheBackgroundOneKeysetPageAtATime() {
+        User first = new User();
+        first.setId("64b7f0c2a1b2c3d4e5f60701");
+        User second = new User();
+        second.setId("64b7f0c2a1b2c3d4e5f60702");
+        when(userRepository.findAllUsernames(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(first, second)));
+        when(userRepository.findUsernamesAfter(eq(second.getId()), any(Pageable.class))).thenReturn(List.of());
+        when(journalRepository.streamCreatedDatesByOwner(any())).thenAnswer(invocation -> Stream.empty());
+        when(statsRepository.replaceIfUnchanged(any(JournalStats.class), isNull())).thenReturn(true);
+        ArgumentCaptor<Runnable> job = ArgumentCaptor.forClass(Runnable.class);
+
+        assertThat(service.startRebuildAll()).isTrue();
+        verify(applicationTaskExecutor).execute(job.capture());
+        assertThat(service.getRebuildAllStatus().isRunning()).isTrue();
+        assertThat(service.startRebuildAll()).isFalse();
+
+        job.getValue().run();
+
+        StatsRebuildStatusDTO status = service.getRebuildAllStatus();
+        assertThat(status.isRunning()).isFalse();
+        assertThat(status.getUsersRebuilt()).isEqualTo(2);
+        assertThat(status.getFinishedAt()).isNotNull();
+        verify(userRepository, times(1)).findAllUsernames(any(Pageable.class));
+    }
+}
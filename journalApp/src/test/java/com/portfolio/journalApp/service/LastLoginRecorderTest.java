@@ -0,0 +1,83 @@
+package com.portfolio.journalApp.service;
+
+import com.portfolio.journalApp.config.SchedulingConfig;
+import com.portfolio.journalApp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class LastLoginRecorderTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 2, 3, 9, 0);
+
+    @Test
+    void testLoginsAreBufferedAndWrittenInOneBulkUpdate() {
+        UserRepository userRepository = mock(UserRepository.class);
+        LastLoginRecorder recorder = new LastLoginRecorder(userRepository);
+
+        recorder.record("user1", NINE);
+        recorder.record("user2", NINE.plusMinutes(1));
+        recorder.record("user1", NINE.plusMinutes(5));
+        recorder.record("user1", NINE.plusMinutes(2));
+        verify(userRepository, never()).updateLastLoginDates(anyMap());
+
+        recorder.flush();
+        recorder.flush();
+
+        verify(userRepository, times(1)).updateLastLoginDates(Map.of(
+                "user1", NINE.plusMinutes(5),
+                "user2", NINE.plusMinutes(1)));
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void testFailedFlushKeepsTheLoginsForTheNextOne() {
+        UserRepository userRepository = mock(UserRepository.class);
+        LastLoginRecorder recorder = new LastLoginRecorder(userRepository);
+        doThrow(new IllegalStateException("Mongo unavailable"))
+                .doNothing()
+                .when(userRepository).updateLastLoginDates(anyMap());
+
+        recorder.record("user1", NINE);
+        recorder.flush();
+        recorder.record("user1", NINE.minusMinutes(1));
+        recorder.flush();
+
+        verify(userRepository, times(2)).updateLastLoginDates(Map.of("user1", NINE));
+    }
+
+    @Test
+    void testBufferedLoginIsWrittenWithinMaxStaleness() {
+        Duration maxStaleness = Duration.ofMillis(200);
+        UserRepository userRepository = mock(UserRepository.class);
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test",
+                    Map.of("app.last-login.max-staleness", maxStaleness.toString())));
+            context.registerBean(UserRepository.class, () -> userRepository);
+            context.register(SchedulingConfig.class, LastLoginRecorder.class);
+            context.refresh();
+
+            long start = System.nanoTime();
+            context.getBean(LastLoginRecorder.class).record("user1", NINE);
+            verify(userRepository, timeout(5_000)).updateLastLoginDates(Map.of("user1", NINE));
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            // one scheduling period plus slack for a slow build machine
+            assertThat(elapsed).isLessThan(maxStaleness.plusSeconds(2));
+        }
+    }
+}
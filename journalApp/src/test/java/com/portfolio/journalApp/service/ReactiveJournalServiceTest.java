@@ -0,0 +1,186 @@
+package com.portfolio.journalApp.service;
+
+import com.portfolio.journalApp.entity.JournalEntry;
+import com.portfolio.journalApp.entity.User;
+import com.portfolio.journalApp.exceptions.ContentTooLargeException;
+import com.portfolio.journalApp.repository.JournalContentStore;
+import com.portfolio.journalApp.repository.ReactiveJournalRepository;
+import com.portfolio.journalApp.repository.ReactiveUserRepository;
+import com.portfolio.journalApp.utils.JournalCursor;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveJournalServiceTest {
+
+    private static final String OWNER_ID = "64b7f0c2a1b2c3d4e5f60718";
+    private static final String ENTRY_ID = "64b7f0c2a1b2c3d4e5f60799";
+
+    @InjectMocks
+    private ReactiveJournalService service;
+
+    @Mock
+    private ReactiveJournalRepository repository;
+
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private JournalStatsService statsService;
+
+    @Mock
+    private JournalContentStore contentStore;
+
+    private User owner() {
+        return new User(OWNER_ID, "username1", "password1", List.of("USER"), new ArrayList<>());
+    }
+
+    private Mono<Object> update(String content) {
+        JournalEntry changes = new JournalEntry();
+        changes.setContent(content);
+        return service.updateEntry(ENTRY_ID, changes, "username1")
+                .<Object>map(entry -> entry)
+                .onErrorResume(OptimisticLockingFailureException.class, Mono::just)
+                .subscribeOn(Schedulers.parallel());
+    }
+
+    @Test
+    void testEntriesAreStreamedForOwner() {
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(Mono.just(owner()));
+        when(repository.findAllByOwner(new ObjectId(OWNER_ID), Sort.by(Sort.Direction.DESC, "createdDate", "id")))
+                .thenReturn(Flux.just(new JournalEntry(), new JournalEntry()));
+
+        StepVerifier.create(service.getAllEntries("username1", "desc"))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void testUnknownUserHasNoEntries() {
+        when(userRepository.findWithoutEntriesByUsername("missing")).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.getAllEntries("missing", "asc")).verifyComplete();
+        StepVerifier.create(service.deleteEntry(ENTRY_ID, "missing")).expectNext(false).verifyComplete();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testSaveAddsReferenceWithoutRewritingUser() {
+        JournalEntry saved = new JournalEntry();
+        saved.setId(ENTRY_ID);
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(Mono.just(owner()));
+        when(repository.insert(any(JournalEntry.class))).thenReturn(Mono.just(saved));
+        when(userRepository.pushEntryRef(OWNER_ID, ENTRY_ID)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.saveEntry(new JournalEntry(), "username1"))
+                .expectNext(saved)
+                .verifyComplete();
+        verify(userRepository).pushEntryRef(eq(OWNER_ID), eq(ENTRY_ID));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testConcurrentUpdatesOfTheSameVersionLetOnlyOneWin() {
+        AtomicLong storedVersion = new AtomicLong(1);
+        JournalEntry previous = new JournalEntry();
+        previous.setContentFileId("large-content");
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(Mono.just(owner()));
+        // both requests read the entry before either writes
+        when(repository.findByIdAndOwner(ENTRY_ID, new ObjectId(OWNER_ID))).thenAnswer(invocation -> {
+            JournalEntry read = new JournalEntry();
+            read.setId(ENTRY_ID);
+            read.setTitle("title");
+            read.setVersion(1);
+            return Mono.just(read);
+        });
+        // the version guard, as findAndModify applies it
+        when(repository.updateIfVersion(eq(new ObjectId(OWNER_ID)), eq(ENTRY_ID), anyLong(), any())).thenAnswer(invocation -> {
+            long expected = invocation.getArgument(2);
+            return Mono.fromCallable(() -> storedVersion.compareAndSet(expected, expected + 1) ? previous : null);
+        });
+        when(userRepository.touchJournal(OWNER_ID)).thenReturn(Mono.just(true));
+
+        List<Object> outcomes = Flux.merge(update("from the phone"), update("from the laptop"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(outcomes).hasSize(2);
+        assertThat(outcomes).filteredOn(JournalEntry.class::isInstance).singleElement()
+                .satisfies(entry -> assertThat(((JournalEntry) entry).getVersion()).isEqualTo(2));
+        assertThat(outcomes).filteredOn(OptimisticLockingFailureException.class::isInstance).hasSize(1);
+        assertThat(storedVersion).hasValue(2);
+        // the winner replaced the content file; the loser must not delete it a second time
+        verify(contentStore, times(1)).delete(List.of("large-content"));
+    }
+
+    @Test
+    void testContentAboveTheInlineLimitIsRejected() {
+        ReflectionTestUtils.setField(service, "inlineContentMaxSize", DataSize.ofBytes(16));
+        JournalEntry entry = new JournalEntry();
+        entry.setTitle("title");
+        entry.setContent("seventeen bytes!!");
+
+        StepVerifier.create(service.saveEntry(entry, "username1")).verifyError(ContentTooLargeException.class);
+        StepVerifier.create(service.updateEntry(ENTRY_ID, entry, "username1")).verifyError(ContentTooLargeException.class);
+        verifyNoInteractions(repository, userRepository, contentStore);
+    }
+
+    @Test
+    void testCursorPageReadsOneExtraEntryToFindTheNextPage() {
+        LocalDateTime monday = LocalDateTime.of(2025, 2, 3, 9, 0);
+        List<JournalEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            JournalEntry entry = new JournalEntry();
+            entry.setId(new ObjectId().toHexString());
+            entry.setCreatedDate(monday.minusDays(i));
+            entries.add(entry);
+        }
+        JournalCursor position = JournalCursor.after(entries.get(0), Sort.Direction.DESC);
+        when(userRepository.findWithoutEntriesByUsername("username1")).thenReturn(Mono.just(owner()));
+        when(repository.findAllByOwnerBefore(eq(new ObjectId(OWNER_ID)), eq(monday), eq(position.getId()),
+                argThat(pageable -> pageable.getPageSize() == 3))).thenReturn(Flux.fromIterable(entries.subList(1, 3)));
+
+        StepVerifier.create(service.getEntriesByCursor("username1", position.encode(), 2, "asc", false))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactlyElementsOf(entries.subList(1, 3));
+                    assertThat(page.isHasNext()).isFalse();
+                    assertThat(page.getNextCursor()).isNull();
+                    assertThat(page.getTotalElements()).isNull();
+                })
+                .verifyComplete();
+
+        when(repository.findAllByOwner(eq(new ObjectId(OWNER_ID)), any(Pageable.class))).thenReturn(Flux.fromIterable(entries));
+
+        StepVerifier.create(service.getEntriesByCursor("username1", null, 2, "desc", false))
+                .assertNext(page -> {
+                    assertThat(page.getContent()).containsExactlyElementsOf(entries.subList(0, 2));
+                    assertThat(JournalCursor.decode(page.getNextCursor()).getId().toHexString()).isEqualTo(entries.get(1).getId());
+                })
+                .verifyComplete();
+    }
+}
@@ -1,8 +1,12 @@
 
 package com.portfolio.journalApp.service;
 
+import com.portfolio.journalApp.dto.AdminUserDTO;
+import com.portfolio.journalApp.dto.CursorPageDTO;
 import com.portfolio.journalApp.entity.User;
 import com.portfolio.journalApp.repository.UserRepository;
+import com.portfolio.journalApp.security.PrincipalCache;
+import com.portfolio.journalApp.security.TokenVersionRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -30,6 +34,18 @@ public class UserServiceTest {
     @Mock  // Add this mock for passwordEncoder
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Mock
+    private JournalStatsService journalStatsService;
+
     @Test
     public void testSaveUserInfo(){
         String username = "test.user";
@@ -82,4 +98,21 @@ public class UserServiceTest {
         assertThat(result.getUsername()).isEqualTo(user.getUsername());
     }
 
+    @Test
+    void testGetUsersForAdminPagesByUsername(){
+        List<AdminUserDTO> rows = List.of(
+                new AdminUserDTO("1", "amy", null, List.of("USER"), null, null, 3),
+                new AdminUserDTO("2", "ann", null, List.of("USER"), null, null, 0),
+                new AdminUserDTO("3", "anna", null, List.of("USER"), null, null, 1));
+
+        when(repository.findAdminUsers("a", "al", 3)).thenReturn(rows);
+        CursorPageDTO<AdminUserDTO> page = service.getUsersForAdmin("a", "al", 2, false);
+
+        assertThat(page.getContent()).extracting(AdminUserDTO::getUsername).containsExactly("amy", "ann");
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isEqualTo("ann");
+        assertThat(page.getTotalElements()).isNull();
+        verify(repository, never()).countByUsernamePrefix(any());
+    }
+
 }
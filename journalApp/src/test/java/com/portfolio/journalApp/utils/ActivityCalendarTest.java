@@ -0,0 +1,53 @@
+package com.portfolio.journalApp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ActivityCalendarTest {
+
+    private static ActivityCalendar calendarOf(LocalDate... days) {
+        Map<Integer, long[]> years = new HashMap<>();
+        for (LocalDate day : days) {
+            years.computeIfAbsent(day.getYear(), year -> new long[ActivityCalendar.WORDS_PER_YEAR])
+                    [ActivityCalendar.wordIndex(day)] |= ActivityCalendar.bitMask(day);
+        }
+        return ActivityCalendar.of(years);
+    }
+
+    @Test
+    void testStreaksRunAcrossYearsAndWords() {
+        // Dec 30 2023 .. Jan 2 2024 crosses a year, Mar 3..6 2024 crosses the 64-day word boundary
+        ActivityCalendar calendar = calendarOf(
+                LocalDate.of(2023, 12, 30), LocalDate.of(2023, 12, 31), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2),
+                LocalDate.of(2024, 3, 3), LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 6),
+                LocalDate.of(2024, 3, 7), LocalDate.of(2024, 12, 31));
+
+        assertThat(calendar.longestStreak()).isEqualTo(5);
+        assertThat(calendar.activeDays()).isEqualTo(10);
+        assertThat(calendar.currentStreak(LocalDate.of(2024, 1, 2))).isEqualTo(4);
+        assertThat(calendar.currentStreak(LocalDate.of(2024, 1, 3))).isEqualTo(4); // today not written yet
+        assertThat(calendar.currentStreak(LocalDate.of(2024, 1, 4))).isZero();
+        assertThat(calendar.currentStreak(LocalDate.of(2025, 1, 1))).isEqualTo(1);
+        assertThat(calendar.currentStreak(LocalDate.of(2020, 1, 1))).isZero();
+    }
+
+    @Test
+    void testRangeCountsAndHeatmap() {
+        ActivityCalendar calendar = calendarOf(
+                LocalDate.of(2024, 2, 29), LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 15));
+
+        assertThat(calendar.countActiveDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31))).isEqualTo(2);
+        assertThat(calendar.countActiveDays(LocalDate.of(2020, 1, 1), LocalDate.of(2030, 1, 1))).isEqualTo(3);
+        assertThat(calendar.countActiveDays(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 2, 1))).isZero();
+        assertThat(calendar.activeDaysOf(2024)).isEqualTo(List.of(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 12, 31)));
+        assertThat(calendar.activeDaysOf(2026)).isEmpty();
+        assertThat(calendar.isActive(LocalDate.of(2024, 12, 31))).isTrue();
+        assertThat(ActivityCalendar.of(Map.of()).longestStreak()).isZero();
+    }
+}
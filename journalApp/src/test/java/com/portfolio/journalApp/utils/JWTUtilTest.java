@@ -0,0 +1,111 @@
+package com.portfolio.journalApp.utils;
+
+import com.portfolio.journalApp.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JWTUtilTest {
+
+    private static JWTUtil jwtUtil(int expiration, boolean selfContained, boolean verifiedCache) {
+        JWTUtil jwtUtil = new JWTUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKey1234567890123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "selfContained", selfContained);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheEnabled", verifiedCache);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    private static User user() {
+        return new User(new ObjectId().toHexString(), "username1", "password", List.of("USER", "ADMIN"), new ArrayList<>());
+    }
+
+    // swaps the payload for one naming another subject, keeping the original signature
+    private static String withSubject(String token, String subject) {
+        String[] parts = token.split("\\.");
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String payload = new String(decoder.decode(parts[1]), StandardCharsets.UTF_8)
+                .replace("\"sub\":\"username1\"", "\"sub\":\"" + subject + "\"");
+        return parts[0] + "." + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + parts[2];
+    }
+
+    private static String withSignature(String token, String signature) {
+        return token.substring(0, token.lastIndexOf('.') + 1) + signature;
+    }
+
+    @Test
+    void testParseClaimsReadsSelfContainedClaims() {
+        JWTUtil jwtUtil = jwtUtil(3600000, true, false);
+        User user = user();
+
+        Claims claims = jwtUtil.parseClaims(jwtUtil.generateToken(user));
+
+        assertThat(claims.getSubject()).isEqualTo("username1");
+        assertThat(claims.get(JWTUtil.USER_ID_CLAIM, String.class)).isEqualTo(user.getId());
+        assertThat(claims.get(JWTUtil.ROLES_CLAIM, List.class)).containsExactly("USER", "ADMIN");
+        assertThat(claims.getId()).isNotBlank();
+        assertThat(claims.getExpiration()).isAfter(claims.getIssuedAt());
+    }
+
+    @Test
+    void testVerifiedTokenIsServedFromTheCache() {
+        JWTUtil cached = jwtUtil(3600000, false, true);
+        JWTUtil uncached = jwtUtil(3600000, false, false);
+        String token = cached.generateToken("username1");
+
+        assertThat(cached.parseClaims(token)).isSameAs(cached.parseClaims(token));
+        assertThat(uncached.parseClaims(token)).isNotSameAs(uncached.parseClaims(token))
+                .isEqualTo(cached.parseClaims(token));
+    }
+
+    @Test
+    void testTamperedTokenIsRejectedEvenWhenTheOriginalIsCached() {
+        JWTUtil jwtUtil = jwtUtil(3600000, false, true);
+        String token = jwtUtil.generateToken("username1");
+        jwtUtil.parseClaims(token);
+        String tampered = withSubject(token, "admin");
+
+        assertThatThrownBy(() -> jwtUtil.parseClaims(tampered)).isInstanceOf(SignatureException.class);
+        assertThat(jwtUtil.validateToken(tampered)).isFalse();
+        assertThat(jwtUtil.validateToken(withSignature(token, "A".repeat(43)))).isFalse();
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("username1");
+    }
+
+    @Test
+    void testExpiredTokenIsRejectedAfterItWasCached() throws InterruptedException {
+        JWTUtil jwtUtil = jwtUtil(1000, false, true);
+        String token = jwtUtil.generateToken("username1");
+        long expiresAt = jwtUtil.extractExpiration(token).getTime();
+
+        // exp has second precision, so wait until it has really passed
+        while (System.currentTimeMillis() <= expiresAt) {
+            Thread.sleep(50);
+        }
+
+        assertThatThrownBy(() -> jwtUtil.parseClaims(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtUtil.validateToken(token)).isFalse();
+    }
+
+    @Test
+    void testTokenIssuedAlreadyExpiredIsRejectedEveryTime() {
+        JWTUtil jwtUtil = jwtUtil(-1000, false, true);
+        String token = jwtUtil.generateToken("username1");
+
+        assertThatThrownBy(() -> jwtUtil.parseClaims(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThatThrownBy(() -> jwtUtil.parseClaims(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+}